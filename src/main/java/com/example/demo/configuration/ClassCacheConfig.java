@@ -0,0 +1,74 @@
+package com.example.demo.configuration;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.example.demo.configuration.properties.CacheProperties;
+import com.example.demo.service.RedisService;
+import com.example.demo.service.cache.ClassCache;
+import com.example.demo.service.cache.ClassIdFilter;
+import com.example.demo.service.cache.ClassListCache;
+import com.example.demo.service.cache.ClassNameIndex;
+import com.example.demo.service.cache.RosterCache;
+
+@Configuration
+public class ClassCacheConfig {
+
+    // Background executor for early (XFetch) refreshes; drops refreshes when saturated.
+    // The bound stays with virtual threads: it limits refresh load, not threads
+    @Bean
+    public ThreadPoolTaskExecutor cacheRefreshExecutor(Environment environment) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("cache-refresh-");
+        executor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(100);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+
+    // Cache used by ClassServiceImpl (with RabbitMQ)
+    @Bean
+    public ClassCache classCache(RedisService redisService, CacheProperties cacheProperties,
+                                 @Qualifier("cacheRefreshExecutor") Executor refreshExecutor, ClassIdFilter classIdFilter) {
+        return new ClassCache("class", redisService, cacheProperties, refreshExecutor, classIdFilter);
+    }
+
+    // Cache used by ClassSimpleServiceImpl (without RabbitMQ)
+    @Bean
+    public ClassCache simpleClassCache(RedisService redisService, CacheProperties cacheProperties,
+                                       @Qualifier("cacheRefreshExecutor") Executor refreshExecutor, ClassIdFilter classIdFilter) {
+        return new ClassCache("simple-class", redisService, cacheProperties, refreshExecutor, classIdFilter);
+    }
+
+    // Name-to-id entries for lookups by name through classCache
+    @Bean
+    public ClassNameIndex classNameIndex(RedisService redisService, CacheProperties cacheProperties) {
+        return new ClassNameIndex("class", redisService, cacheProperties);
+    }
+
+    // Versioned roster pages, invalidated by enrolment events
+    @Bean
+    public RosterCache rosterCache(RedisService redisService, CacheProperties cacheProperties) {
+        return new RosterCache("class", redisService, cacheProperties);
+    }
+
+    // Incrementally maintained class lists, one per region; every class write updates both
+    @Bean
+    public ClassListCache classListCache(RedisService redisService, CacheProperties cacheProperties) {
+        return new ClassListCache("class", redisService, cacheProperties);
+    }
+
+    @Bean
+    public ClassListCache simpleClassListCache(RedisService redisService, CacheProperties cacheProperties) {
+        return new ClassListCache("simple-class", redisService, cacheProperties);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.demo.configuration;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.example.demo.configuration.properties.ClassCommandProperties;
+
+@Configuration
+public class ClassCommandConfig {
+
+    // Runs asynchronous class writes off the servlet threads. Bounded on purpose (also with virtual threads):
+    // it caps the connections writes can take, so reads keep getting theirs during a write storm
+    @Bean
+    public ThreadPoolTaskExecutor classWriteExecutor(ClassCommandProperties properties, Environment environment) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("class-write-");
+        executor.setCorePoolSize(properties.getWriteThreads());
+        executor.setMaxPoolSize(properties.getWriteThreads());
+        executor.setQueueCapacity(properties.getWriteQueueCapacity());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+        return executor;
+    }
+}
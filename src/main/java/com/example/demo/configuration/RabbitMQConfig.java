@@ -1,120 +1,260 @@
-package com.example.demo.configuration;
-
-import org.springframework.amqp.core.Binding;
-import org.springframework.amqp.core.BindingBuilder;
-import org.springframework.amqp.core.DirectExchange;
-import org.springframework.amqp.core.Queue;
-import org.springframework.amqp.core.QueueBuilder;
-import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
-import org.springframework.amqp.rabbit.connection.ConnectionFactory;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
-import org.springframework.amqp.support.converter.MessageConverter;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-
-@Configuration
-public class RabbitMQConfig {
-
-    // Queue Names
-    @Value("${app.rabbitmq.class.queue.name}")
-    private String classQueueName;
-
-    @Value("${app.rabbitmq.class.dead-letter.queue.name}")
-    private String classDeadLetterQueueName;
-
-    // Exchange Names
-    @Value("${app.rabbitmq.class.exchange.name}")
-    private String classExchangeName;
-
-    @Value("${app.rabbitmq.class.dead-letter.exchange.name}")
-    private String classDeadLetterExchangeName;
-
-    // Routing Keys
-    @Value("${app.rabbitmq.class.routing-key}")
-    private String classRoutingKey;
-
-    // Message Converter
-    @Bean
-    public MessageConverter jsonMessageConverter() {
-        return new Jackson2JsonMessageConverter();
-    }
-
-    // RabbitTemplate Configuration
-    @Bean
-    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
-        RabbitTemplate template = new RabbitTemplate(connectionFactory);
-        template.setMessageConverter(jsonMessageConverter());
-        template.setMandatory(true);
-        template.setConfirmCallback((correlationData, ack, cause) -> {
-            if (ack) {
-                System.out.println("Message sent successfully");
-            } else {
-                System.err.println("Failed to send message: " + cause);
-            }
-        });
-        template.setReturnsCallback(returned -> {
-            System.err.println("Message returned: " + returned.getMessage());
-        });
-        return template;
-    }
-
-    // Listener Container Factory
-    @Bean
-    public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(ConnectionFactory connectionFactory) {
-        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
-        factory.setConnectionFactory(connectionFactory);
-        factory.setMessageConverter(jsonMessageConverter());
-        factory.setConcurrentConsumers(3);
-        factory.setMaxConcurrentConsumers(10);
-        factory.setDefaultRequeueRejected(false);
-        return factory;
-    }
-
-    // Dead Letter Exchange
-    @Bean
-    public DirectExchange classDeadLetterExchange() {
-        return new DirectExchange(classDeadLetterExchangeName, true, false);
-    }
-
-    // Dead Letter Queue
-    @Bean
-    public Queue classDeadLetterQueue() {
-        return QueueBuilder.durable(classDeadLetterQueueName).build();
-    }
-
-    // Main Direct Exchange
-    @Bean
-    public DirectExchange classExchange() {
-        return new DirectExchange(classExchangeName, true, false);
-    }
-
-    // Main Queue with Dead Letter Configuration
-    @Bean
-    public Queue classQueue() {
-        return QueueBuilder.durable(classQueueName)
-                .withArgument("x-dead-letter-exchange", classDeadLetterExchangeName)
-                .withArgument("x-dead-letter-routing-key", classDeadLetterQueueName)
-                .withArgument("x-message-ttl", 300000) // 5 minutes TTL
-                .build();
-    }
-
-    // Binding for Main Queue
-    @Bean
-    public Binding classBinding() {
-        return BindingBuilder
-                .bind(classQueue())
-                .to(classExchange())
-                .with(classRoutingKey);
-    }
-
-    // Binding for Dead Letter Queue
-    @Bean
-    public Binding classDeadLetterBinding() {
-        return BindingBuilder
-                .bind(classDeadLetterQueue())
-                .to(classDeadLetterExchange())
-                .with(classDeadLetterQueueName);
-    }
-}
+package com.example.demo.configuration;
+
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import com.example.demo.configuration.datasource.SqlStatisticsListenerAdvice;
+import com.example.demo.configuration.properties.WriteBehindProperties;
+import com.example.demo.service.messaging.ClaimCheckMessageConverter;
+import com.example.demo.service.messaging.ClaimCheckStore;
+
+@Configuration
+public class RabbitMQConfig {
+
+    // Queue Names
+    @Value("${app.rabbitmq.class.queue.name}")
+    private String classQueueName;
+
+    @Value("${app.rabbitmq.class.dead-letter.queue.name}")
+    private String classDeadLetterQueueName;
+
+    // Exchange Names
+    @Value("${app.rabbitmq.class.exchange.name}")
+    private String classExchangeName;
+
+    @Value("${app.rabbitmq.class.dead-letter.exchange.name}")
+    private String classDeadLetterExchangeName;
+
+    // Routing Keys
+    @Value("${app.rabbitmq.class.routing-key}")
+    private String classRoutingKey;
+
+    // Write-behind persistence queue
+    @Value("${app.rabbitmq.class.persist.queue.name}")
+    private String classPersistQueueName;
+
+    @Value("${app.rabbitmq.class.persist.routing-key}")
+    private String classPersistRoutingKey;
+
+    @Value("${app.rabbitmq.class.persist.dead-letter.queue.name}")
+    private String classPersistDeadLetterQueueName;
+
+    // Queue of accepted class commands (202 mode)
+    @Value("${app.rabbitmq.class.command.queue.name}")
+    private String classCommandQueueName;
+
+    @Value("${app.rabbitmq.class.command.routing-key}")
+    private String classCommandRoutingKey;
+
+    @Value("${app.rabbitmq.class.command.dead-letter.queue.name}")
+    private String classCommandDeadLetterQueueName;
+
+    // Message Converter
+    @Bean
+    public MessageConverter jsonMessageConverter() {
+        return new Jackson2JsonMessageConverter();
+    }
+
+    // RabbitTemplate Configuration
+    @Bean
+    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory, ClaimCheckStore claimCheckStore) {
+        RabbitTemplate template = new RabbitTemplate(connectionFactory);
+        // Large class message payloads travel through Redis instead of the broker
+        template.setMessageConverter(new ClaimCheckMessageConverter(jsonMessageConverter(), claimCheckStore));
+        template.setMandatory(true);
+        template.setConfirmCallback((correlationData, ack, cause) -> {
+            if (ack) {
+                System.out.println("Message sent successfully");
+            } else {
+                System.err.println("Failed to send message: " + cause);
+            }
+        });
+        template.setReturnsCallback(returned -> {
+            System.err.println("Message returned: " + returned.getMessage());
+        });
+        return template;
+    }
+
+    // Listener Container Factory
+    @Bean
+    public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(ConnectionFactory connectionFactory,
+            ObjectProvider<SqlStatisticsListenerAdvice> sqlStatisticsAdvice, Environment environment) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setMessageConverter(jsonMessageConverter());
+        factory.setConcurrentConsumers(3);
+        factory.setMaxConcurrentConsumers(10);
+        factory.setDefaultRequeueRejected(false);
+        sqlStatisticsAdvice.ifAvailable(factory::setAdviceChain);
+        useVirtualThreads(factory, environment);
+        return factory;
+    }
+
+    // Batch listener for write-behind persistence: one consumer keeps commands in order,
+    // a batch is delivered when full or after receiveTimeout without a new message
+    @Bean
+    public SimpleRabbitListenerContainerFactory persistBatchListenerContainerFactory(ConnectionFactory connectionFactory,
+            WriteBehindProperties writeBehindProperties, ObjectProvider<SqlStatisticsListenerAdvice> sqlStatisticsAdvice,
+            Environment environment) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setMessageConverter(jsonMessageConverter());
+        factory.setConcurrentConsumers(1);
+        factory.setMaxConcurrentConsumers(1);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(writeBehindProperties.getBatchSize());
+        factory.setPrefetchCount(writeBehindProperties.getBatchSize());
+        factory.setReceiveTimeout(writeBehindProperties.getFlushInterval().toMillis());
+        factory.setDefaultRequeueRejected(false);
+        sqlStatisticsAdvice.ifAvailable(factory::setAdviceChain);
+        useVirtualThreads(factory, environment);
+        return factory;
+    }
+
+    // Consumers run on virtual threads with spring.threads.virtual.enabled, like the auto-configured factories
+    private static void useVirtualThreads(SimpleRabbitListenerContainerFactory factory, Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            factory.setTaskExecutor(new VirtualThreadTaskExecutor("rabbit-listener-"));
+        }
+    }
+
+    // Dead Letter Exchange
+    @Bean
+    public DirectExchange classDeadLetterExchange() {
+        return new DirectExchange(classDeadLetterExchangeName, true, false);
+    }
+
+    // Dead Letter Queue
+    @Bean
+    public Queue classDeadLetterQueue() {
+        return QueueBuilder.durable(classDeadLetterQueueName).build();
+    }
+
+    // Main Direct Exchange
+    @Bean
+    public DirectExchange classExchange() {
+        return new DirectExchange(classExchangeName, true, false);
+    }
+
+    // Main Queue with Dead Letter Configuration
+    @Bean
+    public Queue classQueue() {
+        return QueueBuilder.durable(classQueueName)
+                .withArgument("x-dead-letter-exchange", classDeadLetterExchangeName)
+                .withArgument("x-dead-letter-routing-key", classDeadLetterQueueName)
+                .withArgument("x-message-ttl", 300000) // 5 minutes TTL
+                .build();
+    }
+
+    // Binding for Main Queue
+    @Bean
+    public Binding classBinding() {
+        return BindingBuilder
+                .bind(classQueue())
+                .to(classExchange())
+                .with(classRoutingKey);
+    }
+
+    // Binding for Dead Letter Queue
+    @Bean
+    public Binding classDeadLetterBinding() {
+        return BindingBuilder
+                .bind(classDeadLetterQueue())
+                .to(classDeadLetterExchange())
+                .with(classDeadLetterQueueName);
+    }
+
+    // Persistence queue for write-behind class updates (no TTL: expiring a command would lose the write)
+    @Bean
+    public Queue classPersistQueue() {
+        return QueueBuilder.durable(classPersistQueueName)
+                .withArgument("x-dead-letter-exchange", classDeadLetterExchangeName)
+                .withArgument("x-dead-letter-routing-key", classPersistDeadLetterQueueName)
+                .build();
+    }
+
+    @Bean
+    public Binding classPersistBinding() {
+        return BindingBuilder
+                .bind(classPersistQueue())
+                .to(classExchange())
+                .with(classPersistRoutingKey);
+    }
+
+    // Dead Letter Queue for persistence commands, kept apart from class.dlq (different payload type)
+    @Bean
+    public Queue classPersistDeadLetterQueue() {
+        return QueueBuilder.durable(classPersistDeadLetterQueueName).build();
+    }
+
+    @Bean
+    public Binding classPersistDeadLetterBinding() {
+        return BindingBuilder
+                .bind(classPersistDeadLetterQueue())
+                .to(classDeadLetterExchange())
+                .with(classPersistDeadLetterQueueName);
+    }
+
+    // Accepted class commands (no TTL: the client is polling for the outcome)
+    @Bean
+    public Queue classCommandQueue() {
+        return QueueBuilder.durable(classCommandQueueName)
+                .withArgument("x-dead-letter-exchange", classDeadLetterExchangeName)
+                .withArgument("x-dead-letter-routing-key", classCommandDeadLetterQueueName)
+                .build();
+    }
+
+    @Bean
+    public Binding classCommandBinding() {
+        return BindingBuilder
+                .bind(classCommandQueue())
+                .to(classExchange())
+                .with(classCommandRoutingKey);
+    }
+
+    // Commands whose outcome couldn't be recorded
+    @Bean
+    public Queue classCommandDeadLetterQueue() {
+        return QueueBuilder.durable(classCommandDeadLetterQueueName).build();
+    }
+
+    @Bean
+    public Binding classCommandDeadLetterBinding() {
+        return BindingBuilder
+                .bind(classCommandDeadLetterQueue())
+                .to(classDeadLetterExchange())
+                .with(classCommandDeadLetterQueueName);
+    }
+
+    // Per-instance queue receiving a copy of every class event, for node-local caches and indexes
+    @Bean
+    public Queue classBroadcastQueue() {
+        return new AnonymousQueue();
+    }
+
+    // Binding for the per-instance broadcast queue (same routing key as the main queue)
+    @Bean
+    public Binding classBroadcastBinding() {
+        return BindingBuilder
+                .bind(classBroadcastQueue())
+                .to(classExchange())
+                .with(classRoutingKey);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.demo.configuration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.demo.configuration.datasource.SqlStatisticsDataSource;
+import com.example.demo.configuration.datasource.SqlStatisticsFilter;
+import com.example.demo.configuration.datasource.SqlStatisticsListenerAdvice;
+import com.example.demo.configuration.datasource.SqlStatisticsRecorder;
+import com.example.demo.configuration.properties.SqlStatisticsProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Per-request and per-listener SQL statistics (when {@code app.datasource.statistics.enabled} is set, the default).
+ * <p>
+ * The application data source (bean {@code dataSource}: the Hikari pool, or the replica routing proxy) is wrapped in
+ * a {@link SqlStatisticsDataSource}; {@link SqlStatisticsFilter} and {@link SqlStatisticsListenerAdvice} open a
+ * statistics scope around each request and each listener invocation.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.statistics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatisticsConfig {
+
+    @Bean
+    public static BeanPostProcessor sqlStatisticsDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource) {
+                    return new SqlStatisticsDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public SqlStatisticsRecorder sqlStatisticsRecorder(MeterRegistry meterRegistry, SqlStatisticsProperties properties) {
+        return new SqlStatisticsRecorder(meterRegistry, properties);
+    }
+
+    @Bean
+    public SqlStatisticsFilter sqlStatisticsFilter(SqlStatisticsRecorder recorder) {
+        return new SqlStatisticsFilter(recorder);
+    }
+
+    @Bean
+    public SqlStatisticsListenerAdvice sqlStatisticsListenerAdvice(SqlStatisticsRecorder recorder) {
+        return new SqlStatisticsListenerAdvice(recorder);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.demo.configuration.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Number of SQL statements a request handler may run; overrides {@code app.datasource.statistics.request-budget}.
+ * Going over it is logged (or fails, with {@code fail-on-exceeded}), see {@link SqlStatisticsFilter}.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface QueryBudget {
+    int value();
+}
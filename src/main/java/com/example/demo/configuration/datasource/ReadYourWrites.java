@@ -0,0 +1,42 @@
+package com.example.demo.configuration.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Pins the current thread's reads to the primary, e.g. for a client that just wrote
+ * or for code reacting to a change that replicas may not have applied yet.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static boolean isPinned() {
+        return Boolean.TRUE.equals(PINNED.get());
+    }
+
+    public static void pin() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    public static void clear() {
+        PINNED.remove();
+    }
+
+    /**
+     * Runs {@code action} with reads pinned to the primary, restoring the previous state afterwards.
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        if (isPinned()) {
+            return action.get();
+        }
+        pin();
+        try {
+            return action.get();
+        } finally {
+            clear();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.demo.configuration.datasource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.example.demo.configuration.properties.ReplicaProperties;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Measures how far each replica is behind the primary and marks replicas over {@code max-lag} as unusable.
+ * A replica that has replayed everything the primary has written counts as 0s behind, however long ago its
+ * last replayed transaction was; otherwise the lag is the age of its last replayed transaction.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final String PRIMARY_LSN_SQL = "select pg_current_wal_lsn()::text";
+    private static final String REPLICA_LAG_SQL = "select pg_is_in_recovery(), "
+            + "pg_wal_lsn_diff(?::pg_lsn, pg_last_wal_replay_lsn()), "
+            + "extract(epoch from now() - pg_last_xact_replay_timestamp())";
+
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final ReplicaProperties properties;
+
+    public ReplicaLagMonitor(ReplicaRoutingDataSource routingDataSource, ReplicaProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.routingDataSource = routingDataSource;
+        this.properties = properties;
+        for (ReplicaRoutingDataSource.Replica replica : routingDataSource.replicas()) {
+            Gauge.builder("datasource.replica.lag", replica, ReplicaRoutingDataSource.Replica::lagSeconds)
+                    .description("Replication lag of a read replica")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.name())
+                    .register(meterRegistry);
+        }
+        check();
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval:2s}")
+    public void check() {
+        String primaryLsn;
+        try (Connection connection = routingDataSource.primary().getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(PRIMARY_LSN_SQL)) {
+            rs.next();
+            primaryLsn = rs.getString(1);
+        } catch (SQLException e) {
+            log.warn("Could not read the primary's WAL position, keeping replica state: {}", e.getMessage());
+            return;
+        }
+
+        double maxLagSeconds = properties.getMaxLag().toMillis() / 1000.0;
+        for (ReplicaRoutingDataSource.Replica replica : routingDataSource.replicas()) {
+            try (Connection connection = replica.dataSource().getConnection();
+                 PreparedStatement statement = connection.prepareStatement(REPLICA_LAG_SQL)) {
+                statement.setString(1, primaryLsn);
+                try (ResultSet rs = statement.executeQuery()) {
+                    rs.next();
+                    if (!rs.getBoolean(1)) {
+                        log.warn("Replica {} is not a standby server, not using it", replica.name());
+                        replica.update(Double.NaN, false);
+                        continue;
+                    }
+                    double bytesBehind = rs.getDouble(2);
+                    double replayAge = rs.getDouble(3);
+                    double lag = bytesBehind <= 0 ? 0 : (rs.wasNull() ? Double.POSITIVE_INFINITY : replayAge);
+                    replica.update(lag, lag <= maxLagSeconds);
+                }
+            } catch (SQLException e) {
+                log.debug("Lag check of replica {} failed: {}", replica.name(), e.getMessage());
+                replica.update(Double.NaN, false);
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.demo.configuration.datasource;
+
+/**
+ * SQL statements, rows and JDBC time of the current unit of work (an HTTP request or a listener invocation),
+ * collected by {@link SqlStatisticsDataSource} on the calling thread. Statements run outside a scope, or on
+ * other threads (async work, streaming responses), aren't counted.
+ */
+public final class SqlStatistics {
+
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private final SqlStatistics parent;
+    private int statements;
+    private long rows;
+    private long nanos;
+
+    private SqlStatistics(SqlStatistics parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Starts a scope on the current thread; statements count towards it until {@link #stop()}.
+     */
+    public static SqlStatistics start() {
+        SqlStatistics statistics = new SqlStatistics(CURRENT.get());
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * Ends the scope; a nested scope's counts are added to the enclosing one.
+     */
+    public void stop() {
+        if (parent != null) {
+            parent.statements += statements;
+            parent.rows += rows;
+            parent.nanos += nanos;
+            CURRENT.set(parent);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    static void recordStatement(long elapsedNanos, long affectedRows) {
+        SqlStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.statements++;
+            statistics.nanos += elapsedNanos;
+            statistics.rows += affectedRows;
+        }
+    }
+
+    static void recordRow() {
+        SqlStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.rows++;
+        }
+    }
+
+    // Executions sent to the database; a JDBC batch counts once
+    public int statements() {
+        return statements;
+    }
+
+    // Rows read from result sets plus rows reported as updated
+    public long rows() {
+        return rows;
+    }
+
+    // Time spent executing statements (not reading further rows of an open result set)
+    public long nanos() {
+        return nanos;
+    }
+
+    @Override
+    public String toString() {
+        return statements + " statements, " + rows + " rows, " + nanos / 1_000_000 + " ms";
+    }
+}
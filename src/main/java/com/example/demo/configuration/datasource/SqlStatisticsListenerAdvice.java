@@ -0,0 +1,50 @@
+package com.example.demo.configuration.datasource;
+
+import java.util.List;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.amqp.core.Message;
+
+/**
+ * Listener container advice collecting the SQL statistics of each listener invocation (one message, or one batch
+ * for batch listeners), recorded under the consuming queue with the configured listener budget. Anonymous
+ * per-instance queues are recorded as {@code anonymous} to keep their random names out of the metric tags.
+ */
+public class SqlStatisticsListenerAdvice implements MethodInterceptor {
+
+    private static final String ANONYMOUS_QUEUE_PREFIX = "spring.gen-";
+
+    private final SqlStatisticsRecorder recorder;
+
+    public SqlStatisticsListenerAdvice(SqlStatisticsRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        SqlStatistics statistics = SqlStatistics.start();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } finally {
+            statistics.stop();
+        }
+        recorder.record("listener", queue(invocation.getArguments()), statistics,
+                recorder.properties().getListenerBudget());
+        return result;
+    }
+
+    // invokeListener(Channel, Object data): data is a Message or, for batch listeners, a List<Message>
+    private static String queue(Object[] arguments) {
+        Object data = arguments.length > 1 ? arguments[1] : null;
+        if (data instanceof List<?> batch && !batch.isEmpty()) {
+            data = batch.get(0);
+        }
+        String queue = data instanceof Message message ? message.getMessageProperties().getConsumerQueue() : null;
+        if (queue == null) {
+            return "unknown";
+        }
+        return queue.startsWith(ANONYMOUS_QUEUE_PREFIX) ? "anonymous" : queue;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.demo.configuration.datasource;
+
+import java.util.concurrent.TimeUnit;
+
+import com.example.demo.configuration.properties.SqlStatisticsProperties;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Publishes the {@link SqlStatistics} of a finished request or listener invocation as metrics tagged by
+ * {@code scope} (http, listener) and {@code endpoint}, and enforces its query budget:
+ * <ul>
+ *   <li>{@code sql.statements} and {@code sql.rows}: distribution summaries per unit of work</li>
+ *   <li>{@code sql.time}: JDBC execution time per unit of work</li>
+ *   <li>{@code sql.budget.exceeded}: units of work that ran more statements than their budget</li>
+ * </ul>
+ */
+@Slf4j
+public class SqlStatisticsRecorder {
+
+    private final MeterRegistry meterRegistry;
+    private final SqlStatisticsProperties properties;
+
+    public SqlStatisticsRecorder(MeterRegistry meterRegistry, SqlStatisticsProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    public SqlStatisticsProperties properties() {
+        return properties;
+    }
+
+    /**
+     * @throws IllegalStateException if the budget was exceeded and {@code fail-on-exceeded} is set
+     */
+    public void record(String scope, String endpoint, SqlStatistics statistics, int budget) {
+        DistributionSummary.builder("sql.statements")
+                .description("SQL statements executed per unit of work")
+                .tags("scope", scope, "endpoint", endpoint)
+                .register(meterRegistry)
+                .record(statistics.statements());
+        DistributionSummary.builder("sql.rows")
+                .description("Rows read or updated per unit of work")
+                .tags("scope", scope, "endpoint", endpoint)
+                .register(meterRegistry)
+                .record(statistics.rows());
+        Timer.builder("sql.time")
+                .description("JDBC execution time per unit of work")
+                .tags("scope", scope, "endpoint", endpoint)
+                .register(meterRegistry)
+                .record(statistics.nanos(), TimeUnit.NANOSECONDS);
+
+        if (statistics.statements() <= budget) {
+            return;
+        }
+        meterRegistry.counter("sql.budget.exceeded", "scope", scope, "endpoint", endpoint).increment();
+        String message = endpoint + " ran " + statistics + " (budget " + budget + " statements)";
+        if (properties.isFailOnExceeded()) {
+            throw new IllegalStateException("Query budget exceeded: " + message);
+        }
+        log.warn("Query budget exceeded: {}", message);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.demo.configuration.properties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.cache")
+public class CacheProperties {
+
+    private Lock lock = new Lock();
+    private Region defaults = new Region();
+    private Map<String, Region> regions = new HashMap<>();
+    private BloomFilter bloomFilter = new BloomFilter();
+    private WarmUp warmUp = new WarmUp();
+
+    public Region region(String name) {
+        return regions.getOrDefault(name, defaults);
+    }
+
+    /**
+     * Expiry settings for one key region ("class", "simple-class").
+     * The effective TTL is {@code ttl} +/- {@code jitter} * {@code ttl}, so entries written together don't expire together.
+     * {@code earlyRefreshBeta} scales XFetch early refresh; 0 disables it, values above 1 favour earlier refreshes.
+     * {@code negativeTtl} is how long a "not found" result is remembered.
+     * {@code listTtl} is how long the cached class list lives before it's rebuilt, which bounds how long it can miss
+     * writes made outside the application.
+     */
+    @Data
+    public static class Region {
+        private Duration ttl = Duration.ofMinutes(30);
+        private double jitter = 0.1;
+        private double earlyRefreshBeta = 1.0;
+        private Duration negativeTtl = Duration.ofSeconds(30);
+        private Duration listTtl = Duration.ofMinutes(10);
+    }
+
+    /**
+     * In-memory filter of existing class ids; rebuilt from the database every
+     * {@code app.cache.bloom-filter.rebuild-interval} (ISO-8601 duration, read by the scheduler).
+     */
+    @Data
+    public static class BloomFilter {
+        private boolean enabled = false;
+        private long expectedInsertions = 1_000_000;
+        private double falsePositiveRate = 0.01;
+    }
+
+    /**
+     * Startup cache warm-up: classes are streamed from the database in chunks of {@code chunkSize}
+     * and written to every class cache region, with at most {@code concurrency} chunks in flight.
+     * Startup (and readiness) waits at most {@code timeout} for it.
+     */
+    @Data
+    public static class WarmUp {
+        private boolean enabled = false;
+        private int chunkSize = 500;
+        private int concurrency = 4;
+        private Duration timeout = Duration.ofSeconds(60);
+    }
+
+    /**
+     * Cross-node guard for cache misses: only the node holding the lock loads from the database.
+     */
+    @Data
+    public static class Lock {
+        private boolean enabled = false;
+        private Duration ttl = Duration.ofSeconds(5);
+        private Duration waitTimeout = Duration.ofMillis(500);
+        private Duration pollInterval = Duration.ofMillis(25);
+    }
+}
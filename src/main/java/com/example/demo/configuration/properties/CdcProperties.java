@@ -0,0 +1,35 @@
+package com.example.demo.configuration.properties;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Class events from PostgreSQL logical replication instead of the request path. Requires {@code wal_level=logical}
+ * and a user allowed to replicate; the connection settings are the application data source's.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.cdc")
+public class CdcProperties {
+
+    private boolean enabled = false;
+
+    // Replication slot (created on first start; drop it when disabling capture for good) and publication
+    private String slotName = "classes_cdc";
+    private String publication = "classes_cdc";
+
+    // Messages published before waiting for the broker's confirms; a transaction is never split across batches
+    private int batchSize = 500;
+
+    // Longest wait before publishing a partial batch
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    private Duration confirmTimeout = Duration.ofSeconds(10);
+
+    // Pause before reconnecting after an error; capture resumes from the last checkpoint
+    private Duration retryInterval = Duration.ofSeconds(5);
+}
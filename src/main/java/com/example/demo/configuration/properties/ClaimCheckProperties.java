@@ -0,0 +1,25 @@
+package com.example.demo.configuration.properties;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Claim-check for class messages: payloads of messages larger than {@code thresholdBytes} are stored in Redis
+ * and the message only carries a reference to them.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.rabbitmq.claim-check")
+public class ClaimCheckProperties {
+
+    private boolean enabled = true;
+
+    private int thresholdBytes = 16 * 1024;
+
+    // How long stored payloads are kept; must cover queue and dead letter queue retention
+    private Duration ttl = Duration.ofHours(24);
+}
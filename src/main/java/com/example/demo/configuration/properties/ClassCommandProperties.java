@@ -0,0 +1,31 @@
+package com.example.demo.configuration.properties;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Asynchronous class writes ({@code /api/v1/classes-async}): writes answered once committed run on a bounded
+ * write executor; queued commands ({@code Prefer: respond-async}) go through the class command queue and
+ * report their outcome in Redis.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.class.commands")
+public class ClassCommandProperties {
+
+    // Threads running asynchronous writes (each holds a database connection while it writes)
+    private int writeThreads = 8;
+
+    // Writes waiting for a thread; beyond this, requests are rejected with 503
+    private int writeQueueCapacity = 1000;
+
+    // Consumers of the command queue; one applies commands in the order they were accepted
+    private int concurrency = 1;
+
+    // How long a command's status can be polled
+    private Duration statusTtl = Duration.ofHours(1);
+}
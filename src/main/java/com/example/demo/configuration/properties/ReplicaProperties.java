@@ -0,0 +1,36 @@
+package com.example.demo.configuration.properties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Read replicas for read-only transactions. Connections use the primary's credentials and Hikari settings
+ * ({@code spring.datasource.hikari.*}), except for the pool size.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.datasource.replica")
+public class ReplicaProperties {
+
+    private boolean enabled = false;
+
+    // JDBC URLs of the replicas
+    private List<String> urls = new ArrayList<>();
+
+    // Replicas further behind than this are skipped until they catch up
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    private Duration lagCheckInterval = Duration.ofSeconds(2);
+
+    // After a write, the same client reads from the primary for this long (cookie based)
+    private Duration stickyWindow = Duration.ofSeconds(5);
+
+    // Size of each replica's pool (overrides spring.datasource.hikari.maximum-pool-size)
+    private int maximumPoolSize = 10;
+}
@@ -0,0 +1,22 @@
+package com.example.demo.configuration.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Class name search. POSTGRES queries the trigram and prefix indexes; MEMORY answers from this node's
+ * in-memory index, which is built from the database on startup, kept current from the class event broadcast
+ * and rebuilt every {@code app.search.in-memory.rebuild-interval} (read by the scheduler).
+ * Searches go to PostgreSQL until the in-memory index has been built.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.search")
+public class SearchProperties {
+
+    public enum Engine { POSTGRES, MEMORY }
+
+    private Engine engine = Engine.POSTGRES;
+}
@@ -0,0 +1,27 @@
+package com.example.demo.configuration.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Per-request and per-listener SQL statistics (statements, rows, JDBC time) and query budgets.
+ * A handler can set its own budget with {@code @QueryBudget}.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.datasource.statistics")
+public class SqlStatisticsProperties {
+
+    private boolean enabled = true;
+
+    // Statements an HTTP request may run before it is reported
+    private int requestBudget = 10;
+
+    // Statements one listener invocation (a message, or a batch of messages) may run before it is reported
+    private int listenerBudget = 20;
+
+    // Fail the request or listener invocation instead of logging a warning (for tests)
+    private boolean failOnExceeded = false;
+}
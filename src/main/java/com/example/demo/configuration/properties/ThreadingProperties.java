@@ -0,0 +1,29 @@
+package com.example.demo.configuration.properties;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Pinning detection for virtual threads ({@code spring.threads.virtual.enabled}): a virtual thread that blocks
+ * while pinned to its carrier (inside {@code synchronized} or a native frame) for longer than {@code threshold}
+ * is recorded from the JFR event {@code jdk.VirtualThreadPinned}.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.threads")
+public class ThreadingProperties {
+
+    private Pinning pinning = new Pinning();
+
+    @Data
+    public static class Pinning {
+        private boolean enabled = true;
+        private Duration threshold = Duration.ofMillis(20);
+        // Frames kept per pinning site
+        private int stackDepth = 12;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.demo.configuration.properties;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Write-behind mode for class updates: Redis is written first, the database through a RabbitMQ persistence queue.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.class.write-behind")
+public class WriteBehindProperties {
+
+    private boolean enabled = false;
+
+    // Updates fall back to synchronous writes while the observed persistence lag exceeds this
+    private Duration maxStaleness = Duration.ofSeconds(5);
+
+    // Maximum number of commands flushed in one JDBC batch
+    private int batchSize = 200;
+
+    // A partial batch is flushed after this long without new commands
+    private Duration flushInterval = Duration.ofMillis(500);
+
+    // How long shutdown waits for the persistence queue to drain
+    private Duration shutdownDrainTimeout = Duration.ofSeconds(10);
+}
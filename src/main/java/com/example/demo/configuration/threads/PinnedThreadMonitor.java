@@ -0,0 +1,145 @@
+package com.example.demo.configuration.threads;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.configuration.properties.ThreadingProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Records virtual threads that block while pinned to their carrier thread, from the JFR event
+ * {@code jdk.VirtualThreadPinned} (streamed in-process, no recording file). While pinned, a blocked virtual thread
+ * holds its carrier, so enough of them at once stall every virtual thread; on Java 21 this happens when blocking
+ * inside {@code synchronized}, typically in a driver.
+ * <p>
+ * Pinnings are grouped by site, the first frame outside the JDK (the code that blocked while pinned); each site is
+ * logged once with its stack and counted in {@code jvm.threads.virtual.pinned}. See {@code /actuator/pinning}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.threads.pinning", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class PinnedThreadMonitor implements SmartLifecycle {
+
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+
+    public record Site(String frame, long count, double totalMillis, double maxMillis, List<String> stack) {
+    }
+
+    private final ThreadingProperties.Pinning properties;
+    private final Timer pinned;
+    private final Map<String, SiteStats> sites = new ConcurrentHashMap<>();
+    private final LongAdder total = new LongAdder();
+
+    private volatile RecordingStream stream;
+
+    public PinnedThreadMonitor(ThreadingProperties threadingProperties, MeterRegistry meterRegistry) {
+        this.properties = threadingProperties.getPinning();
+        this.pinned = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads blocked while pinned to their carrier")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        RecordingStream recording = new RecordingStream();
+        recording.enable(EVENT).withThreshold(properties.getThreshold()).withStackTrace();
+        recording.onEvent(EVENT, this::record);
+        recording.startAsync();
+        stream = recording;
+        log.info("Recording virtual thread pinning longer than {}ms", properties.getThreshold().toMillis());
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recording = stream;
+        stream = null;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    public long total() {
+        return total.sum();
+    }
+
+    /**
+     * Pinning sites, most frequent first.
+     */
+    public List<Site> sites() {
+        return sites.entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .sorted(Comparator.comparingLong(Site::count).reversed())
+                .toList();
+    }
+
+    public void reset() {
+        sites.clear();
+        total.reset();
+    }
+
+    private void record(RecordedEvent event) {
+        Duration duration = event.getDuration();
+        List<String> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames().stream()
+                .map(PinnedThreadMonitor::format)
+                .toList();
+        String site = frames.stream().filter(frame -> !isJdk(frame)).findFirst().orElse("unknown");
+        List<String> stack = List.copyOf(frames.subList(0, Math.min(frames.size(), properties.getStackDepth())));
+
+        total.increment();
+        pinned.record(duration);
+        SiteStats stats = sites.computeIfAbsent(site, key -> {
+            log.warn("Virtual thread pinned for {}ms at {}:\n    {}", duration.toMillis(), key, String.join("\n    ", stack));
+            return new SiteStats(stack);
+        });
+        stats.add(duration.toNanos());
+    }
+
+    private static String format(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    private static boolean isJdk(String frame) {
+        return frame.startsWith("java.") || frame.startsWith("jdk.") || frame.startsWith("sun.");
+    }
+
+    private static class SiteStats {
+        private final List<String> stack;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        SiteStats(List<String> stack) {
+            this.stack = stack;
+        }
+
+        void add(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        Site snapshot(String frame) {
+            return new Site(frame, count.sum(), totalNanos.sum() / 1_000_000.0, maxNanos.get() / 1_000_000.0, stack);
+        }
+    }
+}
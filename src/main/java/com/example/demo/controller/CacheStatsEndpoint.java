@@ -0,0 +1,64 @@
+package com.example.demo.controller;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.service.cache.HotKeyTracker;
+import com.example.demo.service.cache.RedisMetrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Actuator endpoint with the Redis hit ratio per key namespace and the currently hottest keys.
+ * GET /actuator/cachestats[?limit=20]
+ */
+@Component
+@Endpoint(id = "cachestats")
+@RequiredArgsConstructor
+public class CacheStatsEndpoint {
+
+    private final MeterRegistry meterRegistry;
+    private final RedisMetrics redisMetrics;
+
+    @ReadOperation
+    public Map<String, Object> cacheStats(@Nullable Integer limit) {
+        Map<String, Map<String, Object>> namespaces = new TreeMap<>();
+        for (Counter counter : meterRegistry.find("redis.cache.gets").counters()) {
+            Map<String, Object> stats = namespaces.computeIfAbsent(counter.getId().getTag("namespace"), namespace -> {
+                Map<String, Object> empty = new LinkedHashMap<>();
+                empty.put("hits", 0L);
+                empty.put("misses", 0L);
+                return empty;
+            });
+            String result = "hit".equals(counter.getId().getTag("result")) ? "hits" : "misses";
+            stats.merge(result, (long) counter.count(), (a, b) -> (Long) a + (Long) b);
+        }
+        namespaces.values().forEach(stats -> {
+            long hits = (Long) stats.get("hits");
+            long reads = hits + (Long) stats.get("misses");
+            stats.put("hitRatio", reads > 0 ? (double) hits / reads : null);
+        });
+
+        List<HotKeyTracker.HotKey> hotKeys = redisMetrics.hotKeys(limit != null ? limit : 20);
+        Map<String, Object> hot = new LinkedHashMap<>();
+        hot.put("since", Instant.ofEpochMilli(redisMetrics.hotKeyWindowStart()));
+        hot.put("sampledReads", redisMetrics.hotKeyReads());
+        hot.put("sampleRate", redisMetrics.sampleRate());
+        hot.put("keys", hotKeys);
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("namespaces", namespaces);
+        body.put("hotKeys", hot);
+        return body;
+    }
+}
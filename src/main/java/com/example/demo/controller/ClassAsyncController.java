@@ -0,0 +1,183 @@
+package com.example.demo.controller;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.demo.dto.APIResponse;
+import com.example.demo.dto.request.ClassRequest;
+import com.example.demo.dto.response.ClassCommandStatus;
+import com.example.demo.service.ClassCommandService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Class writes that don't hold a servlet thread while the database works, so reads keep their threads during
+ * write storms. A write is answered once it is committed; with {@code Prefer: respond-async} it is queued instead
+ * and answered right away with 202 Accepted and the location of its status.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/classes-async")
+@Slf4j
+public class ClassAsyncController {
+    private static final String PREFER = "Prefer";
+    private static final String RESPOND_ASYNC = "respond-async";
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final ClassCommandService commandService;
+
+    /**
+     * Create a new class
+     * POST /api/v1/classes-async (201 on commit, or 202 with Prefer: respond-async)
+     */
+    @PostMapping
+    public CompletableFuture<ResponseEntity<APIResponse>> createClass(@RequestBody ClassRequest request,
+                                                                      @RequestHeader(value = PREFER, required = false) String prefer) {
+        if (respondAsync(prefer)) {
+            return CompletableFuture.completedFuture(accepted("CREATE", null, request));
+        }
+        return write(() -> commandService.createClassAsync(request)
+                .thenApply(created -> ResponseEntity.status(HttpStatus.CREATED).body(APIResponse.builder()
+                        .statusCode(201)
+                        .message("Class created successfully")
+                        .data(created)
+                        .build())), "Failed to create class");
+    }
+
+    /**
+     * Update class by ID
+     * PUT /api/v1/classes-async/{id} (200 on commit, or 202 with Prefer: respond-async)
+     */
+    @PutMapping("/{id}")
+    public CompletableFuture<ResponseEntity<APIResponse>> updateClass(@PathVariable Integer id, @RequestBody ClassRequest request,
+                                                                      @RequestHeader(value = PREFER, required = false) String prefer) {
+        if (respondAsync(prefer)) {
+            return CompletableFuture.completedFuture(accepted("UPDATE", id, request));
+        }
+        return write(() -> commandService.updateClassAsync(id, request)
+                .thenApply(updated -> ResponseEntity.ok(APIResponse.builder()
+                        .statusCode(200)
+                        .message("Class updated successfully")
+                        .data(updated)
+                        .build())), "Failed to update class");
+    }
+
+    /**
+     * Delete class by ID
+     * DELETE /api/v1/classes-async/{id} (200 on commit, or 202 with Prefer: respond-async)
+     */
+    @DeleteMapping("/{id}")
+    public CompletableFuture<ResponseEntity<APIResponse>> deleteClass(@PathVariable Integer id,
+                                                                      @RequestHeader(value = PREFER, required = false) String prefer) {
+        if (respondAsync(prefer)) {
+            return CompletableFuture.completedFuture(accepted("DELETE", id, null));
+        }
+        return write(() -> commandService.deleteClassAsync(id)
+                .thenApply(deleted -> ResponseEntity.ok(APIResponse.builder()
+                        .statusCode(200)
+                        .message("Class deleted successfully")
+                        .data(null)
+                        .build())), "Failed to delete class");
+    }
+
+    /**
+     * Status of a queued command: PENDING, then SUCCEEDED (with the class) or FAILED (with the error)
+     * GET /api/v1/classes-async/commands/{commandId}
+     */
+    @GetMapping("/commands/{commandId}")
+    public ResponseEntity<APIResponse> getCommandStatus(@PathVariable String commandId) {
+        ClassCommandStatus status = commandService.getStatus(commandId);
+        if (status == null) {
+            APIResponse errorResponse = APIResponse.builder()
+                    .statusCode(404)
+                    .message("Command not found (or expired) with id: " + commandId)
+                    .data(null)
+                    .build();
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+        }
+
+        APIResponse response = APIResponse.builder()
+                .statusCode(200)
+                .message("Command " + status.getStatus().toLowerCase())
+                .data(status)
+                .build();
+        return ResponseEntity.ok(response);
+    }
+
+    private static boolean respondAsync(String prefer) {
+        return prefer != null && prefer.toLowerCase().contains(RESPOND_ASYNC);
+    }
+
+    private ResponseEntity<APIResponse> accepted(String action, Integer classId, ClassRequest request) {
+        try {
+            ClassCommandStatus status = commandService.submit(action, classId, request);
+
+            APIResponse response = APIResponse.builder()
+                    .statusCode(202)
+                    .message(action + " command accepted")
+                    .data(status)
+                    .build();
+
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/v1/classes-async/commands/" + status.getCommandId()))
+                    .header("Preference-Applied", RESPOND_ASYNC)
+                    .body(response);
+
+        } catch (Exception e) {
+            log.error("Failed to queue {} command for class id: {}: {}", action, classId, e.getMessage(), e);
+            APIResponse errorResponse = APIResponse.builder()
+                    .statusCode(500)
+                    .message("Failed to queue command: " + e.getMessage())
+                    .data(null)
+                    .build();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
+    /**
+     * Starts the write and maps its failure; a full write queue is answered with 503 right away.
+     */
+    private CompletableFuture<ResponseEntity<APIResponse>> write(Supplier<CompletableFuture<ResponseEntity<APIResponse>>> write,
+                                                                 String failureMessage) {
+        try {
+            return write.get().exceptionally(e -> failure(failureMessage, e));
+        } catch (RejectedExecutionException e) {
+            APIResponse errorResponse = APIResponse.builder()
+                    .statusCode(503)
+                    .message(failureMessage + ": too many writes in progress, retry later")
+                    .data(null)
+                    .build();
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                    .body(errorResponse));
+        }
+    }
+
+    private static ResponseEntity<APIResponse> failure(String message, Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        boolean notFound = cause.getMessage() != null && cause.getMessage().contains("not found");
+        APIResponse errorResponse = APIResponse.builder()
+                .statusCode(notFound ? 404 : 500)
+                .message(message + ": " + cause.getMessage())
+                .data(null)
+                .build();
+        return ResponseEntity.status(notFound ? HttpStatus.NOT_FOUND : HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+    }
+}
@@ -1,138 +1,521 @@
-package com.example.demo.controller;
-
-import java.util.List;
-
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.DeleteMapping;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.PutMapping;
-import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
-
-import com.example.demo.dto.APIResponse;
-import com.example.demo.dto.request.ClassRequest;
-import com.example.demo.dto.response.ClassResponse;
-import com.example.demo.service.ClassService;
-
-import io.micrometer.common.lang.NonNull;
-import lombok.RequiredArgsConstructor;
-
-@RestController
-@RequiredArgsConstructor
-@RequestMapping("/api/v1/classes")
-public class ClassController {
-    private final ClassService classService;
-    
-    @GetMapping("")
-    public ResponseEntity<APIResponse> GetList() {
-        List<ClassResponse> classList = classService.getAllClasses();
-        APIResponse response = APIResponse.builder()
-                                          .statusCode(200)
-                                          .message("List of classes retrieved successfully")
-                                          .data(classList)
-                                          .build();
-        return ResponseEntity.ok(response);
-    }
-
-    @GetMapping("/{id}")
-    public ResponseEntity<APIResponse> GetById(@PathVariable("id") @NonNull Integer id) {
-        ClassResponse classResponse = classService.getClassById(id);
-        APIResponse response = APIResponse.builder()
-                                          .statusCode(200)
-                                          .message("Class retrieved successfully")
-                                          .data(classResponse)
-                                          .build();
-        return ResponseEntity.ok(response);
-    }
-    
-    /**
-     * Create a new class - This will trigger RabbitMQ message
-     * POST /api/v1/classes
-     */
-    @PostMapping
-    public ResponseEntity<APIResponse> createClass(@RequestBody ClassRequest request) {
-        try {
-            ClassResponse createdClass = classService.createClass(request);
-            
-            APIResponse response = APIResponse.builder()
-                    .statusCode(201)
-                    .message("Class created successfully")
-                    .data(createdClass)
-                    .build();
-            
-            return ResponseEntity.status(HttpStatus.CREATED).body(response);
-            
-        } catch (Exception e) {
-            APIResponse errorResponse = APIResponse.builder()
-                    .statusCode(500)
-                    .message("Failed to create class: " + e.getMessage())
-                    .data(null)
-                    .build();
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
-        }
-    }
-    
-    /**
-     * Update class by ID - This will trigger RabbitMQ message
-     * PUT /api/v1/classes/{id}
-     */
-    @PutMapping("/{id}")
-    public ResponseEntity<APIResponse> updateClass(@PathVariable Integer id, @RequestBody ClassRequest request) {
-        try {
-            ClassResponse updatedClass = classService.updateClass(id, request);
-            
-            APIResponse response = APIResponse.builder()
-                    .statusCode(200)
-                    .message("Class updated successfully")
-                    .data(updatedClass)
-                    .build();
-            
-            return ResponseEntity.ok(response);
-            
-        } catch (Exception e) {
-            APIResponse errorResponse = APIResponse.builder()
-                    .statusCode(e.getMessage().contains("not found") ? 404 : 500)
-                    .message("Failed to update class: " + e.getMessage())
-                    .data(null)
-                    .build();
-            
-            HttpStatus status = e.getMessage().contains("not found") ? 
-                HttpStatus.NOT_FOUND : HttpStatus.INTERNAL_SERVER_ERROR;
-            return ResponseEntity.status(status).body(errorResponse);
-        }
-    }
-    
-    /**
-     * Delete class by ID - This will trigger RabbitMQ message
-     * DELETE /api/v1/classes/{id}
-     */
-    @DeleteMapping("/{id}")
-    public ResponseEntity<APIResponse> deleteClass(@PathVariable Integer id) {
-        try {
-            classService.deleteClass(id);
-            
-            APIResponse response = APIResponse.builder()
-                    .statusCode(200)
-                    .message("Class deleted successfully")
-                    .data(null)
-                    .build();
-            
-            return ResponseEntity.ok(response);
-            
-        } catch (Exception e) {
-            APIResponse errorResponse = APIResponse.builder()
-                    .statusCode(e.getMessage().contains("not found") ? 404 : 500)
-                    .message("Failed to delete class: " + e.getMessage())
-                    .data(null)
-                    .build();
-            
-            HttpStatus status = e.getMessage().contains("not found") ? 
-                HttpStatus.NOT_FOUND : HttpStatus.INTERNAL_SERVER_ERROR;
-            return ResponseEntity.status(status).body(errorResponse);
-        }
-    }
-}
+package com.example.demo.controller;
+
+import java.io.InputStream;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.example.demo.dto.APIResponse;
+import com.example.demo.dto.request.ClassBulkUpdateRequest;
+import com.example.demo.dto.request.ClassRequest;
+import com.example.demo.dto.response.ClassImportResponse;
+import com.example.demo.dto.response.ClassPageResponse;
+import com.example.demo.dto.response.ClassResponse;
+import com.example.demo.dto.response.ClassRosterResponse;
+import com.example.demo.dto.response.ClassSearchResponse;
+import com.example.demo.service.ClassExportService;
+import com.example.demo.service.ClassImportService;
+import com.example.demo.service.ClassSearchService;
+import com.example.demo.service.ClassService;
+import com.example.demo.service.EnrollmentService;
+import com.example.demo.service.cache.ClassListSnapshot;
+
+import io.micrometer.common.lang.NonNull;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/classes")
+public class ClassController {
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_BULK_SIZE = 10000;
+    private static final int DEFAULT_SEARCH_SIZE = 20;
+    private static final int MAX_SEARCH_SIZE = 100;
+    // Search pages are offset-based; deep pages cost as much as all pages before them
+    private static final int MAX_SEARCH_OFFSET = 1000;
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    
+    private final ClassService classService;
+    private final ClassExportService classExportService;
+    private final ClassImportService classImportService;
+    private final ClassSearchService classSearchService;
+    private final EnrollmentService enrollmentService;
+    
+    /**
+     * Get all classes; supports conditional GET (If-None-Match) on the cached list version
+     * GET /api/v1/classes
+     */
+    @GetMapping("")
+    public ResponseEntity<APIResponse> GetList(@RequestParam(required = false) Integer after,
+                                               @RequestParam(required = false) Integer limit,
+                                               WebRequest webRequest) {
+        if (after != null || limit != null) {
+            ClassPageResponse page = classService.getClassPage(after, pageSize(limit));
+            APIResponse response = APIResponse.builder()
+                                              .statusCode(200)
+                                              .message("Page of classes retrieved successfully")
+                                              .data(page)
+                                              .build();
+            return ResponseEntity.ok(response);
+        }
+        
+        Long version = classService.getClassListVersion();
+        if (version != null && webRequest.checkNotModified(eTag(version))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        
+        ClassListSnapshot snapshot = classService.getClassList();
+        APIResponse response = APIResponse.builder()
+                                          .statusCode(200)
+                                          .message("List of classes retrieved successfully")
+                                          .data(snapshot.getClasses())
+                                          .build();
+        return ResponseEntity.ok().eTag(snapshot.eTag()).body(response);
+    }
+
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> ExportClasses() {
+        StreamingResponseBody body = classExportService::exportClasses;
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+    
+    /**
+     * Type-ahead search over class names, paged by offset
+     * GET /api/v1/classes/search?q=mat&mode=prefix|fuzzy&offset=0&limit=20
+     */
+    @GetMapping("/search")
+    public ResponseEntity<APIResponse> searchClasses(@RequestParam("q") String query,
+                                                     @RequestParam(defaultValue = "prefix") String mode,
+                                                     @RequestParam(defaultValue = "0") int offset,
+                                                     @RequestParam(required = false) Integer limit) {
+        ClassSearchService.Mode searchMode;
+        try {
+            searchMode = ClassSearchService.Mode.valueOf(mode.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return badRequest("Unknown search mode: " + mode + " (expected prefix or fuzzy)");
+        }
+        if (query.isBlank()) {
+            return badRequest("Search query must not be blank");
+        }
+        if (offset < 0 || offset > MAX_SEARCH_OFFSET) {
+            return badRequest("Search offset must be between 0 and " + MAX_SEARCH_OFFSET);
+        }
+        int searchSize = limit == null || limit <= 0 ? DEFAULT_SEARCH_SIZE : Math.min(limit, MAX_SEARCH_SIZE);
+        
+        ClassSearchResponse results = classSearchService.search(query.strip(), searchMode, offset, searchSize);
+        APIResponse response = APIResponse.builder()
+                                          .statusCode(200)
+                                          .message(results.getItems().size() + " classes found")
+                                          .data(results)
+                                          .build();
+        return ResponseEntity.ok(response);
+    }
+    
+    private static int pageSize(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+    
+    /**
+     * Get a class by id; supports conditional GET (If-None-Match) on the cached class version
+     * GET /api/v1/classes/{id}
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<APIResponse> GetById(@PathVariable("id") @NonNull Integer id, WebRequest webRequest) {
+        // Answered from the cache entry's version alone: no database load and no body
+        Long version = classService.getClassVersion(id);
+        if (version != null && webRequest.checkNotModified(eTag(version))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        
+        ClassResponse classResponse = classService.getClassById(id);
+        APIResponse response = APIResponse.builder()
+                                          .statusCode(200)
+                                          .message("Class retrieved successfully")
+                                          .data(classResponse)
+                                          .build();
+        return ResponseEntity.ok().eTag(eTag(classResponse.getVersion())).body(response);
+    }
+    
+    // Strong validator: every write to a class (or to the list) increments its version
+    private static String eTag(long version) {
+        return "\"" + version + "\"";
+    }
+    
+    /**
+     * Get a class by name; the class with the lowest id when several share it
+     * GET /api/v1/classes/by-name/{name}
+     */
+    @GetMapping("/by-name/{name}")
+    public ResponseEntity<APIResponse> getByName(@PathVariable("name") String name) {
+        try {
+            ClassResponse classResponse = classService.getClassByName(name);
+            
+            APIResponse response = APIResponse.builder()
+                    .statusCode(200)
+                    .message("Class retrieved successfully")
+                    .data(classResponse)
+                    .build();
+            
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            APIResponse errorResponse = APIResponse.builder()
+                    .statusCode(e.getMessage().contains("not found") ? 404 : 500)
+                    .message("Failed to fetch class: " + e.getMessage())
+                    .data(null)
+                    .build();
+            
+            HttpStatus status = e.getMessage().contains("not found") ? 
+                HttpStatus.NOT_FOUND : HttpStatus.INTERNAL_SERVER_ERROR;
+            return ResponseEntity.status(status).body(errorResponse);
+        }
+    }
+    
+    /**
+     * Create a new class - This will trigger RabbitMQ message
+     * POST /api/v1/classes
+     */
+    @PostMapping
+    public ResponseEntity<APIResponse> createClass(@RequestBody ClassRequest request) {
+        try {
+            ClassResponse createdClass = classService.createClass(request);
+            
+            APIResponse response = APIResponse.builder()
+                    .statusCode(201)
+                    .message("Class created successfully")
+                    .data(createdClass)
+                    .build();
+            
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+            
+        } catch (Exception e) {
+            APIResponse errorResponse = APIResponse.builder()
+                    .statusCode(500)
+                    .message("Failed to create class: " + e.getMessage())
+                    .data(null)
+                    .build();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+    
+    /**
+     * Update class by ID - This will trigger RabbitMQ message
+     * PUT /api/v1/classes/{id}
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<APIResponse> updateClass(@PathVariable Integer id, @RequestBody ClassRequest request) {
+        try {
+            ClassResponse updatedClass = classService.updateClass(id, request);
+            
+            APIResponse response = APIResponse.builder()
+                    .statusCode(200)
+                    .message("Class updated successfully")
+                    .data(updatedClass)
+                    .build();
+            
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            APIResponse errorResponse = APIResponse.builder()
+                    .statusCode(e.getMessage().contains("not found") ? 404 : 500)
+                    .message("Failed to update class: " + e.getMessage())
+                    .data(null)
+                    .build();
+            
+            HttpStatus status = e.getMessage().contains("not found") ? 
+                HttpStatus.NOT_FOUND : HttpStatus.INTERNAL_SERVER_ERROR;
+            return ResponseEntity.status(status).body(errorResponse);
+        }
+    }
+    
+    /**
+     * Delete class by ID - This will trigger RabbitMQ message
+     * DELETE /api/v1/classes/{id}
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<APIResponse> deleteClass(@PathVariable Integer id) {
+        try {
+            classService.deleteClass(id);
+            
+            APIResponse response = APIResponse.builder()
+                    .statusCode(200)
+                    .message("Class deleted successfully")
+                    .data(null)
+                    .build();
+            
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            APIResponse errorResponse = APIResponse.builder()
+                    .statusCode(e.getMessage().contains("not found") ? 404 : 500)
+                    .message("Failed to delete class: " + e.getMessage())
+                    .data(null)
+                    .build();
+            
+            HttpStatus status = e.getMessage().contains("not found") ? 
+                HttpStatus.NOT_FOUND : HttpStatus.INTERNAL_SERVER_ERROR;
+            return ResponseEntity.status(status).body(errorResponse);
+        }
+    }
+    
+    /**
+     * Create many classes in one batched transaction - One RabbitMQ message for the whole batch
+     * POST /api/v1/classes/bulk
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<APIResponse> createClasses(@RequestBody List<ClassRequest> requests) {
+        if (requests.size() > MAX_BULK_SIZE) {
+            return bulkTooLarge(requests.size());
+        }
+        try {
+            List<ClassResponse> createdClasses = classService.createClasses(requests);
+            
+            APIResponse response = APIResponse.builder()
+                    .statusCode(201)
+                    .message(createdClasses.size() + " classes created successfully")
+                    .data(createdClasses)
+                    .build();
+            
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+            
+        } catch (Exception e) {
+            APIResponse errorResponse = APIResponse.builder()
+                    .statusCode(500)
+                    .message("Failed to create classes: " + e.getMessage())
+                    .data(null)
+                    .build();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+    
+    /**
+     * Update many classes in one batched transaction - All or nothing
+     * PUT /api/v1/classes/bulk
+     */
+    @PutMapping("/bulk")
+    public ResponseEntity<APIResponse> updateClasses(@RequestBody List<ClassBulkUpdateRequest> requests) {
+        if (requests.size() > MAX_BULK_SIZE) {
+            return bulkTooLarge(requests.size());
+        }
+        try {
+            List<ClassResponse> updatedClasses = classService.updateClasses(requests);
+            
+            APIResponse response = APIResponse.builder()
+                    .statusCode(200)
+                    .message(updatedClasses.size() + " classes updated successfully")
+                    .data(updatedClasses)
+                    .build();
+            
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            APIResponse errorResponse = APIResponse.builder()
+                    .statusCode(e.getMessage().contains("not found") ? 404 : 500)
+                    .message("Failed to update classes: " + e.getMessage())
+                    .data(null)
+                    .build();
+            
+            HttpStatus status = e.getMessage().contains("not found") ? 
+                HttpStatus.NOT_FOUND : HttpStatus.INTERNAL_SERVER_ERROR;
+            return ResponseEntity.status(status).body(errorResponse);
+        }
+    }
+    
+    /**
+     * Delete many classes with a single statement
+     * DELETE /api/v1/classes/bulk
+     */
+    @DeleteMapping("/bulk")
+    public ResponseEntity<APIResponse> deleteClasses(@RequestBody List<Integer> ids) {
+        if (ids.size() > MAX_BULK_SIZE) {
+            return bulkTooLarge(ids.size());
+        }
+        try {
+            int deleted = classService.deleteClasses(ids);
+            
+            APIResponse response = APIResponse.builder()
+                    .statusCode(200)
+                    .message(deleted + " classes deleted successfully")
+                    .data(deleted)
+                    .build();
+            
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            APIResponse errorResponse = APIResponse.builder()
+                    .statusCode(500)
+                    .message("Failed to delete classes: " + e.getMessage())
+                    .data(null)
+                    .build();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+    
+    /**
+     * Students enrolled in a class by student id, keyset-paginated like the class list; pages are cached per class
+     * GET /api/v1/classes/{id}/students?after=0&limit=100
+     */
+    @GetMapping("/{id}/students")
+    public ResponseEntity<APIResponse> getRoster(@PathVariable Integer id,
+                                                 @RequestParam(required = false) Integer after,
+                                                 @RequestParam(required = false) Integer limit) {
+        try {
+            ClassRosterResponse roster = enrollmentService.getRoster(id, after, pageSize(limit));
+            
+            APIResponse response = APIResponse.builder()
+                    .statusCode(200)
+                    .message("Page of students retrieved successfully")
+                    .data(roster)
+                    .build();
+            
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            return enrollmentFailure("Failed to fetch students", e);
+        }
+    }
+    
+    /**
+     * Enrol a student in a class (idempotent) - This will trigger RabbitMQ message
+     * PUT /api/v1/classes/{id}/students/{studentId}
+     */
+    @PutMapping("/{id}/students/{studentId}")
+    public ResponseEntity<APIResponse> enrollStudent(@PathVariable Integer id, @PathVariable int studentId) {
+        try {
+            boolean enrolled = enrollmentService.enrollStudent(id, studentId);
+            
+            APIResponse response = APIResponse.builder()
+                    .statusCode(enrolled ? 201 : 200)
+                    .message(enrolled ? "Student enrolled successfully" : "Student already enrolled")
+                    .data(null)
+                    .build();
+            
+            return ResponseEntity.status(enrolled ? HttpStatus.CREATED : HttpStatus.OK).body(response);
+            
+        } catch (Exception e) {
+            return enrollmentFailure("Failed to enroll student", e);
+        }
+    }
+    
+    /**
+     * Enrol many students with a single statement; unknown or already enrolled students are skipped
+     * - One RabbitMQ message for the whole batch
+     * POST /api/v1/classes/{id}/students
+     */
+    @PostMapping("/{id}/students")
+    public ResponseEntity<APIResponse> enrollStudents(@PathVariable Integer id, @RequestBody List<Integer> studentIds) {
+        if (studentIds.size() > MAX_BULK_SIZE) {
+            return bulkTooLarge(studentIds.size());
+        }
+        try {
+            int enrolled = enrollmentService.enrollStudents(id, studentIds);
+            
+            APIResponse response = APIResponse.builder()
+                    .statusCode(200)
+                    .message(enrolled + " students enrolled successfully")
+                    .data(enrolled)
+                    .build();
+            
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            return enrollmentFailure("Failed to enroll students", e);
+        }
+    }
+    
+    /**
+     * Remove a student from a class - This will trigger RabbitMQ message
+     * DELETE /api/v1/classes/{id}/students/{studentId}
+     */
+    @DeleteMapping("/{id}/students/{studentId}")
+    public ResponseEntity<APIResponse> unenrollStudent(@PathVariable Integer id, @PathVariable int studentId) {
+        try {
+            enrollmentService.unenrollStudent(id, studentId);
+            
+            APIResponse response = APIResponse.builder()
+                    .statusCode(200)
+                    .message("Student removed from class successfully")
+                    .data(null)
+                    .build();
+            
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            return enrollmentFailure("Failed to remove student", e);
+        }
+    }
+    
+    /**
+     * Import classes from a CSV ("name" column, header optional) or NDJSON ({"name": ...} per line) body,
+     * streamed into the database with COPY - One RabbitMQ message for the whole import
+     * POST /api/v1/classes/import
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<APIResponse> importClasses(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                     InputStream body) {
+        try {
+            ClassImportService.Format format = TEXT_CSV.isCompatibleWith(MediaType.parseMediaType(contentType))
+                    ? ClassImportService.Format.CSV : ClassImportService.Format.NDJSON;
+            ClassImportResponse summary = classImportService.importClasses(body, format);
+            
+            APIResponse response = APIResponse.builder()
+                    .statusCode(200)
+                    .message(summary.getImported() + " classes imported, " + summary.getRejected() + " rejected")
+                    .data(summary)
+                    .build();
+            
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            APIResponse errorResponse = APIResponse.builder()
+                    .statusCode(500)
+                    .message("Failed to import classes: " + e.getMessage())
+                    .data(null)
+                    .build();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+    
+    private static ResponseEntity<APIResponse> enrollmentFailure(String message, Exception e) {
+        boolean notFound = e.getMessage() != null && e.getMessage().contains("not found");
+        APIResponse errorResponse = APIResponse.builder()
+                .statusCode(notFound ? 404 : 500)
+                .message(message + ": " + e.getMessage())
+                .data(null)
+                .build();
+        return ResponseEntity.status(notFound ? HttpStatus.NOT_FOUND : HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+    }
+    
+    private static ResponseEntity<APIResponse> bulkTooLarge(int size) {
+        return badRequest("Bulk requests are limited to " + MAX_BULK_SIZE + " items, got " + size);
+    }
+    
+    private static ResponseEntity<APIResponse> badRequest(String message) {
+        APIResponse errorResponse = APIResponse.builder()
+                .statusCode(400)
+                .message(message)
+                .data(null)
+                .build();
+        return ResponseEntity.badRequest().body(errorResponse);
+    }
+}
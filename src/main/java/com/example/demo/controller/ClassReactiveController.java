@@ -0,0 +1,71 @@
+package com.example.demo.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.demo.dto.APIResponse;
+import com.example.demo.service.ClassReactiveService;
+
+import io.micrometer.common.lang.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/classes-reactive")
+@Slf4j
+public class ClassReactiveController {
+    private final ClassReactiveService classReactiveService;
+
+    /**
+     * Get all classes (Reactive - request thread is released while waiting)
+     * GET /api/v1/classes-reactive
+     */
+    @GetMapping
+    public Mono<ResponseEntity<APIResponse>> getAllClasses() {
+        return classReactiveService.getAllClasses()
+                .map(classList -> ResponseEntity.ok(APIResponse.builder()
+                        .statusCode(200)
+                        .message("REACTIVE - List of classes retrieved successfully")
+                        .data(classList)
+                        .build()))
+                .onErrorResume(e -> {
+                    log.error("REACTIVE CONTROLLER - Error fetching classes: {}", e.getMessage(), e);
+                    return Mono.just(errorResponse(e, "REACTIVE - Failed to fetch classes: "));
+                });
+    }
+
+    /**
+     * Get class by ID (Reactive - request thread is released while waiting)
+     * GET /api/v1/classes-reactive/{id}
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<APIResponse>> getClassById(@PathVariable("id") @NonNull Integer id) {
+        return classReactiveService.getClassById(id)
+                .map(classResponse -> ResponseEntity.ok(APIResponse.builder()
+                        .statusCode(200)
+                        .message("REACTIVE - Class retrieved successfully")
+                        .data(classResponse)
+                        .build()))
+                .onErrorResume(e -> {
+                    log.error("REACTIVE CONTROLLER - Error fetching class with id {}: {}", id, e.getMessage());
+                    return Mono.just(errorResponse(e, "REACTIVE - Failed to fetch class: "));
+                });
+    }
+
+    private ResponseEntity<APIResponse> errorResponse(Throwable e, String message) {
+        HttpStatus status = e.getMessage() != null && e.getMessage().contains("not found") ?
+            HttpStatus.NOT_FOUND : HttpStatus.INTERNAL_SERVER_ERROR;
+        APIResponse errorResponse = APIResponse.builder()
+                .statusCode(status.value())
+                .message(message + e.getMessage())
+                .data(null)
+                .build();
+        return ResponseEntity.status(status).body(errorResponse);
+    }
+}
@@ -0,0 +1,341 @@
+package com.example.demo.controller;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.demo.configuration.datasource.QueryBudget;
+import com.example.demo.configuration.threads.PinnedThreadMonitor;
+import com.example.demo.dto.APIResponse;
+import com.example.demo.dto.response.ClassResponse;
+import com.example.demo.entity.ClassEntity;
+import com.example.demo.mapper.response.ClassResponseMapper;
+import com.example.demo.repository.ClassRepository;
+import com.example.demo.service.ClassSearchService;
+import com.example.demo.service.RedisService;
+import com.example.demo.service.search.ClassSearchIndex;
+import com.sun.management.ThreadMXBean;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/v1/performance")
+@RequiredArgsConstructor
+@Slf4j
+public class PerformanceController {
+
+    private final ClassRepository classRepository;
+    private final ClassResponseMapper responseMapper;
+    private final EntityManager entityManager;
+    private final ClassSearchIndex classSearchIndex;
+    private final RedisService redisService;
+    private final ObjectProvider<PinnedThreadMonitor> pinnedThreadMonitor;
+    private final Environment environment;
+
+    /**
+     * Loads the full class list (what the list endpoints load on a cache miss) both ways and compares them:
+     * managed entities mapped to DTOs vs. the JDBC projection straight into {@code ClassResponse}.
+     * Allocation is measured per call on the request thread (ThreadMXBean). The request's persistence context (open in
+     * view) is cleared before each entity load, so every run hydrates its entities rather than finding them managed.
+     * GET /api/v1/performance/class-list?iterations=20&warmup=5
+     */
+    @GetMapping("/class-list")
+    @QueryBudget(Integer.MAX_VALUE) // a benchmark: one query per iteration
+    public ResponseEntity<APIResponse> compareClassList(@RequestParam(defaultValue = "20") int iterations,
+                                                        @RequestParam(defaultValue = "5") int warmup) {
+        log.info("Comparing class list loading: {} iterations after {} warm-up runs", iterations, warmup);
+
+        Map<String, Object> entities = measure(() -> responseMapper.toListDto(classRepository.findAll()),
+                entityManager::clear, iterations, warmup);
+        entityManager.clear();
+        Map<String, Object> projection = measure(classRepository::findAllProjected, () -> { }, iterations, warmup);
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("entityAndMapper", entities);
+        results.put("projection", projection);
+        results.put("allocationRatio", ratio(entities.get("avgAllocatedBytes"), projection.get("avgAllocatedBytes")));
+        results.put("latencyRatio", ratio(entities.get("avgMillis"), projection.get("avgMillis")));
+
+        APIResponse response = APIResponse.builder()
+                .statusCode(200)
+                .message("Class list loading compared over " + iterations + " iterations")
+                .data(results)
+                .build();
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Runs search queries derived from random existing class names against PostgreSQL and, once built, the in-memory
+     * index, and reports latency percentiles against a p99 target. Prefix queries are the first 2-4 characters of
+     * a name; fuzzy queries are a name with one character dropped (a typo).
+     * GET /api/v1/performance/class-search?mode=prefix&queries=200&limit=20&p99TargetMs=50
+     */
+    @GetMapping("/class-search")
+    @QueryBudget(Integer.MAX_VALUE) // a benchmark: one query per sample and engine
+    public ResponseEntity<APIResponse> benchmarkClassSearch(@RequestParam(defaultValue = "prefix") String mode,
+                                                            @RequestParam(defaultValue = "200") int queries,
+                                                            @RequestParam(defaultValue = "20") int limit,
+                                                            @RequestParam(defaultValue = "50") double p99TargetMs) {
+        ClassSearchService.Mode searchMode = ClassSearchService.Mode.valueOf(mode.toUpperCase());
+        List<String> samples = sampleQueries(searchMode, Math.max(1, queries));
+        log.info("Benchmarking {} class search with {} queries", searchMode, samples.size());
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("mode", searchMode);
+        results.put("queries", samples.size());
+        if (samples.isEmpty()) {
+            return ResponseEntity.ok(APIResponse.builder()
+                    .statusCode(200)
+                    .message("No classes to derive search queries from")
+                    .data(results)
+                    .build());
+        }
+        results.put("postgres", measureSearch(samples, p99TargetMs, query -> searchMode == ClassSearchService.Mode.PREFIX
+                ? classRepository.searchByNamePrefix(query, 0, limit)
+                : classRepository.searchByNameSimilarity(query, 0, limit)));
+        if (classSearchIndex.isReady()) {
+            results.put("memory", measureSearch(samples, p99TargetMs, query -> searchMode == ClassSearchService.Mode.PREFIX
+                    ? classSearchIndex.prefix(query, 0, limit)
+                    : classSearchIndex.fuzzy(query, 0, limit)));
+        }
+
+        APIResponse response = APIResponse.builder()
+                .statusCode(200)
+                .message("Class search measured over " + samples.size() + " queries")
+                .data(results)
+                .build();
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Runs the same blocking request work (a Redis read, a class read from PostgreSQL and a simulated downstream
+     * call of {@code latencyMs}) for {@code requests} requests with {@code concurrency} in flight: once on a pool of
+     * {@code platformThreads} platform threads (Tomcat's default maximum is 200) and once with a virtual thread per
+     * request. Reports throughput and latency percentiles; latency counts from when a request is sent, so time
+     * queued for a pool thread is included. Database work is still limited by the Hikari pool in both runs.
+     * GET /api/v1/performance/blocking-io?requests=5000&concurrency=1000&platformThreads=200&latencyMs=20
+     */
+    @GetMapping("/blocking-io")
+    @QueryBudget(Integer.MAX_VALUE) // a benchmark: its queries run on the benchmark's own threads
+    public ResponseEntity<APIResponse> benchmarkBlockingIo(@RequestParam(defaultValue = "5000") int requests,
+                                                           @RequestParam(defaultValue = "1000") int concurrency,
+                                                           @RequestParam(defaultValue = "200") int platformThreads,
+                                                           @RequestParam(defaultValue = "20") int latencyMs) {
+        int maxId = maxClassId();
+        int runs = Math.max(1, requests);
+        int inFlight = Math.max(1, concurrency);
+        log.info("Benchmarking blocking I/O: {} requests, {} in flight, {} platform threads, {}ms downstream latency",
+                runs, inFlight, platformThreads, latencyMs);
+
+        // One short pass each to warm up pools and JIT, then the measured runs
+        measureBlocking(Executors.newFixedThreadPool(Math.max(1, platformThreads)), Math.min(runs, 500), inFlight, latencyMs, maxId);
+        measureBlocking(Executors.newVirtualThreadPerTaskExecutor(), Math.min(runs, 500), inFlight, latencyMs, maxId);
+
+        Map<String, Object> platform = measureBlocking(Executors.newFixedThreadPool(Math.max(1, platformThreads)),
+                runs, inFlight, latencyMs, maxId);
+        long pinnedBefore = pinnedCount();
+        Map<String, Object> virtual = measureBlocking(Executors.newVirtualThreadPerTaskExecutor(),
+                runs, inFlight, latencyMs, maxId);
+        PinnedThreadMonitor monitor = pinnedThreadMonitor.getIfAvailable();
+        if (monitor != null) {
+            // JFR streams events about once a second
+            sleep(1100);
+            virtual.put("pinnedThreads", monitor.total() - pinnedBefore);
+        }
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("servletVirtualThreads", Threading.VIRTUAL.isActive(environment));
+        results.put("platform", platform);
+        results.put("virtual", virtual);
+        results.put("throughputRatio", ratio(virtual.get("throughputPerSecond"), platform.get("throughputPerSecond")));
+        results.put("p99Ratio", ratio(platform.get("p99Millis"), virtual.get("p99Millis")));
+
+        APIResponse response = APIResponse.builder()
+                .statusCode(200)
+                .message("Blocking I/O measured over " + runs + " requests with " + inFlight + " in flight")
+                .data(results)
+                .build();
+        return ResponseEntity.ok(response);
+    }
+
+    private Map<String, Object> measureBlocking(ExecutorService executor, int requests, int concurrency, int latencyMs,
+                                                int maxId) {
+        Semaphore inFlight = new Semaphore(concurrency);
+        double[] millis = new double[requests];
+        AtomicInteger failures = new AtomicInteger();
+        long start = System.nanoTime();
+        // close() waits for the submitted requests
+        try (executor) {
+            for (int i = 0; i < requests; i++) {
+                inFlight.acquireUninterruptibly();
+                int request = i;
+                int id = 1 + ThreadLocalRandom.current().nextInt(Math.max(1, maxId));
+                long sent = System.nanoTime();
+                executor.execute(() -> {
+                    try {
+                        redisService.get("class:" + id);
+                        classRepository.findProjectedById(id);
+                        sleep(latencyMs);
+                    } catch (Exception e) {
+                        failures.incrementAndGet();
+                    } finally {
+                        millis[request] = (System.nanoTime() - sent) / 1_000_000.0;
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        Arrays.sort(millis);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("requests", requests);
+        result.put("failures", failures.get());
+        result.put("throughputPerSecond", round(requests / seconds));
+        result.put("p50Millis", round(percentile(millis, 0.50)));
+        result.put("p95Millis", round(percentile(millis, 0.95)));
+        result.put("p99Millis", round(percentile(millis, 0.99)));
+        result.put("maxMillis", round(millis[millis.length - 1]));
+        return result;
+    }
+
+    private long pinnedCount() {
+        PinnedThreadMonitor monitor = pinnedThreadMonitor.getIfAvailable();
+        return monitor != null ? monitor.total() : 0;
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private int maxClassId() {
+        return classRepository.findAll(PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "id"))).stream()
+                .findFirst().map(ClassEntity::getId).orElse(0);
+    }
+
+    private List<String> sampleQueries(ClassSearchService.Mode mode, int count) {
+        int maxId = maxClassId();
+        List<String> samples = new ArrayList<>(count);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int attempt = 0; samples.size() < count && attempt < count * 4 && maxId > 0; attempt++) {
+            List<ClassResponse> page = classRepository.findPageProjected(random.nextInt(maxId), 1);
+            if (page.isEmpty() || page.get(0).getName().length() < 3) {
+                continue;
+            }
+            String name = page.get(0).getName();
+            if (mode == ClassSearchService.Mode.PREFIX) {
+                samples.add(name.substring(0, Math.min(name.length(), 2 + random.nextInt(3))));
+            } else {
+                int drop = random.nextInt(name.length());
+                samples.add(name.substring(0, drop) + name.substring(drop + 1));
+            }
+        }
+        return samples;
+    }
+
+    private static Map<String, Object> measureSearch(List<String> queries, double p99TargetMs,
+                                                     Function<String, List<ClassResponse>> search) {
+        // One pass to warm up caches and JIT, then the measured pass
+        queries.forEach(search::apply);
+
+        double[] millis = new double[queries.size()];
+        long results = 0;
+        for (int i = 0; i < queries.size(); i++) {
+            long start = System.nanoTime();
+            results += search.apply(queries.get(i)).size();
+            millis[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(millis);
+
+        double p99 = percentile(millis, 0.99);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("avgResults", round((double) results / queries.size()));
+        result.put("p50Millis", round(percentile(millis, 0.50)));
+        result.put("p95Millis", round(percentile(millis, 0.95)));
+        result.put("p99Millis", round(p99));
+        result.put("maxMillis", round(millis[millis.length - 1]));
+        result.put("p99TargetMillis", p99TargetMs);
+        result.put("meetsTarget", p99 <= p99TargetMs);
+        return result;
+    }
+
+    // Nearest-rank percentile of sorted values
+    private static double percentile(double[] sorted, double quantile) {
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    /**
+     * Runs {@code load} {@code warmup} times, then measures {@code iterations} runs; {@code reset} runs before each
+     * load, outside the measurement.
+     */
+    private static Map<String, Object> measure(Supplier<? extends List<?>> load, Runnable reset, int iterations,
+                                               int warmup) {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < warmup; i++) {
+            reset.run();
+            load.get();
+        }
+
+        int runs = Math.max(1, iterations);
+        double[] millis = new double[runs];
+        long allocated = 0;
+        int rows = 0;
+        for (int i = 0; i < runs; i++) {
+            reset.run();
+            long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            rows = load.get().size();
+            millis[i] = (System.nanoTime() - start) / 1_000_000.0;
+            allocated += threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+        }
+        Arrays.sort(millis);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("rows", rows);
+        result.put("avgMillis", round(Arrays.stream(millis).average().orElse(0)));
+        result.put("p50Millis", round(millis[runs / 2]));
+        result.put("maxMillis", round(millis[runs - 1]));
+        result.put("avgAllocatedBytes", allocated / runs);
+        return result;
+    }
+
+    private static double ratio(Object baseline, Object candidate) {
+        double divisor = ((Number) candidate).doubleValue();
+        return divisor > 0 ? round(((Number) baseline).doubleValue() / divisor) : 0;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.demo.controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.configuration.threads.PinnedThreadMonitor;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Actuator endpoint with the virtual thread pinning sites recorded so far.
+ * GET /actuator/pinning, DELETE /actuator/pinning to reset
+ */
+@Component
+@Endpoint(id = "pinning")
+@ConditionalOnProperty(prefix = "app.threads.pinning", name = "enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class PinningEndpoint {
+
+    private final PinnedThreadMonitor monitor;
+    private final Environment environment;
+
+    @ReadOperation
+    public Map<String, Object> pinning() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("virtualThreads", Threading.VIRTUAL.isActive(environment));
+        body.put("pinned", monitor.total());
+        body.put("sites", monitor.sites());
+        return body;
+    }
+
+    @DeleteOperation
+    public void reset() {
+        monitor.reset();
+    }
+}
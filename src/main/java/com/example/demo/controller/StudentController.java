@@ -0,0 +1,95 @@
+package com.example.demo.controller;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.demo.dto.APIResponse;
+import com.example.demo.dto.response.ClassResponse;
+import com.example.demo.dto.response.StudentResponse;
+import com.example.demo.service.EnrollmentService;
+import com.example.demo.service.StudentService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/students")
+public class StudentController {
+    private final StudentService studentService;
+    private final EnrollmentService enrollmentService;
+    
+    /**
+     * Get all students
+     * GET /api/v1/students
+     */
+    @GetMapping("")
+    public ResponseEntity<APIResponse> getList() {
+        List<StudentResponse> students = studentService.getAllStudents();
+        APIResponse response = APIResponse.builder()
+                                          .statusCode(200)
+                                          .message("List of students retrieved successfully")
+                                          .data(students)
+                                          .build();
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Get a student by ID
+     * GET /api/v1/students/{id}
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<APIResponse> getById(@PathVariable int id) {
+        try {
+            StudentResponse student = studentService.getStudentById(id);
+            
+            APIResponse response = APIResponse.builder()
+                    .statusCode(200)
+                    .message("Student retrieved successfully")
+                    .data(student)
+                    .build();
+            
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            return failure("Failed to fetch student", e);
+        }
+    }
+    
+    /**
+     * Classes a student is enrolled in
+     * GET /api/v1/students/{id}/classes
+     */
+    @GetMapping("/{id}/classes")
+    public ResponseEntity<APIResponse> getClasses(@PathVariable int id) {
+        try {
+            List<ClassResponse> classes = enrollmentService.getStudentClasses(id);
+            
+            APIResponse response = APIResponse.builder()
+                    .statusCode(200)
+                    .message("Classes of student retrieved successfully")
+                    .data(classes)
+                    .build();
+            
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            return failure("Failed to fetch classes of student", e);
+        }
+    }
+    
+    private static ResponseEntity<APIResponse> failure(String message, Exception e) {
+        boolean notFound = e.getMessage() != null && e.getMessage().contains("not found");
+        APIResponse errorResponse = APIResponse.builder()
+                .statusCode(notFound ? 404 : 500)
+                .message(message + ": " + e.getMessage())
+                .data(null)
+                .build();
+        return ResponseEntity.status(notFound ? HttpStatus.NOT_FOUND : HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+    }
+}
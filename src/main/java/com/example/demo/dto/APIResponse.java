@@ -1,17 +1,17 @@
-package com.example.demo.dto;
-
-// import com.fasterxml.jackson.annotation.JsonInclude;
-import lombok.Builder;
-import lombok.Getter;
-import lombok.Setter;
-
-@Setter
-@Getter
-@Builder
-// @JsonInclude(JsonInclude.Include.NON_NULL)
-public class APIResponse {
-    private int statusCode;
-    private String message;
-    private Object data;
-
-}
+package com.example.demo.dto;
+
+// import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+@Builder
+// @JsonInclude(JsonInclude.Include.NON_NULL)
+public class APIResponse {
+    private int statusCode;
+    private String message;
+    private Object data;
+
+}
@@ -0,0 +1,24 @@
+package com.example.demo.dto.message;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A class write accepted with {@code 202 Accepted} and applied by the command consumer.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClassCommand {
+
+    private String commandId;
+    private String action; // CREATE, UPDATE, DELETE
+    private Integer classId; // null for CREATE
+    private String name; // null for DELETE
+
+    // Epoch millis when the command was accepted
+    private long submittedAt;
+}
@@ -1,60 +1,105 @@
-package com.example.demo.dto.message;
-
-import java.time.LocalDateTime;
-
-import com.fasterxml.jackson.annotation.JsonFormat;
-
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-@Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
-public class ClassMessage {
-    
-    private Integer classId;
-    private String className;
-    private String action; // CREATE, UPDATE, DELETE
-    private String status; // SUCCESS, FAILED
-    private String message;
-    
-    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
-    private LocalDateTime timestamp;
-    
-    private Object payload; // Additional data if needed
-    
-    public static ClassMessage createMessage(Integer classId, String className, String action) {
-        return ClassMessage.builder()
-                .classId(classId)
-                .className(className)
-                .action(action)
-                .status("PENDING")
-                .timestamp(LocalDateTime.now())
-                .build();
-    }
-    
-    public static ClassMessage successMessage(Integer classId, String className, String action, String message) {
-        return ClassMessage.builder()
-                .classId(classId)
-                .className(className)
-                .action(action)
-                .status("SUCCESS")
-                .message(message)
-                .timestamp(LocalDateTime.now())
-                .build();
-    }
-    
-    public static ClassMessage failedMessage(Integer classId, String className, String action, String errorMessage) {
-        return ClassMessage.builder()
-                .classId(classId)
-                .className(className)
-                .action(action)
-                .status("FAILED")
-                .message(errorMessage)
-                .timestamp(LocalDateTime.now())
-                .build();
-    }
-}
+package com.example.demo.dto.message;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClassMessage {
+    
+    private Integer classId;
+    private String className;
+    private String action; // CREATE, UPDATE, DELETE, BULK_CREATE, BULK_UPDATE, BULK_DELETE, IMPORT, ENROLL, UNENROLL
+    private String status; // SUCCESS, FAILED
+    private String message;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime timestamp;
+    
+    private Object payload; // Additional data if needed
+    
+    private String payloadRef; // Redis key of a claim-checked payload (payload is then null)
+    
+    public static ClassMessage createMessage(Integer classId, String className, String action) {
+        return ClassMessage.builder()
+                .classId(classId)
+                .className(className)
+                .action(action)
+                .status("PENDING")
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+    
+    public static ClassMessage successMessage(Integer classId, String className, String action, String message) {
+        return ClassMessage.builder()
+                .classId(classId)
+                .className(className)
+                .action(action)
+                .status("SUCCESS")
+                .message(message)
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+    
+    /**
+     * One event for a whole batch; the affected ids are carried in the payload (claim-checked when large)
+     */
+    public static ClassMessage bulkMessage(List<Integer> classIds, String action, String message) {
+        return ClassMessage.builder()
+                .action(action)
+                .status("SUCCESS")
+                .message(message)
+                .timestamp(LocalDateTime.now())
+                // A mutable copy: immutable lists (List.of, Stream.toList) are final classes, which the Redis
+                // serializer writes without a type id, so a claim-checked payload could not be read back
+                .payload(new ArrayList<>(classIds))
+                .build();
+    }
+    
+    /**
+     * Ids of a bulk event's payload (a JSON array once received); empty for any other payload
+     */
+    public static List<Integer> bulkIds(Object payload) {
+        if (!(payload instanceof Collection<?> values)) {
+            return List.of();
+        }
+        List<Integer> ids = new ArrayList<>(values.size());
+        for (Object value : values) {
+            if (value instanceof Number number) {
+                ids.add(number.intValue());
+            }
+        }
+        return ids;
+    }
+    
+    /**
+     * One event for an enrolment change of a class; the affected student ids are carried in the payload
+     */
+    public static ClassMessage enrollmentMessage(Integer classId, List<Integer> studentIds, String action, String message) {
+        return bulkMessage(studentIds, action, message).toBuilder()
+                .classId(classId)
+                .build();
+    }
+    
+    public static ClassMessage failedMessage(Integer classId, String className, String action, String errorMessage) {
+        return ClassMessage.builder()
+                .classId(classId)
+                .className(className)
+                .action(action)
+                .status("FAILED")
+                .message(errorMessage)
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.demo.dto.message;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Deferred database write for a class update made in write-behind mode.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClassPersistCommand {
+
+    private Integer classId;
+    private String name;
+
+    // Version the update was cached with; persisted so the row never falls behind the cache
+    private long version;
+
+    // Epoch millis when the update was accepted, used to measure persistence lag
+    private long enqueuedAt;
+}
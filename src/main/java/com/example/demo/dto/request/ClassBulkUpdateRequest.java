@@ -0,0 +1,16 @@
+package com.example.demo.dto.request;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClassBulkUpdateRequest {
+    private Integer id;
+    private String name;
+}
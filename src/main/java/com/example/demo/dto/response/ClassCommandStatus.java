@@ -0,0 +1,27 @@
+package com.example.demo.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a queued class command, polled at {@code /api/v1/classes-async/commands/{commandId}}.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClassCommandStatus {
+
+    private String commandId;
+    private String action;
+    private Integer classId;
+    private String status; // PENDING, SUCCEEDED, FAILED
+    private ClassResponse result; // the class after a CREATE or UPDATE
+    private String error;
+
+    // Epoch millis
+    private long submittedAt;
+    private Long completedAt;
+}
@@ -0,0 +1,35 @@
+package com.example.demo.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Outcome of a bulk import: row counts, the id range assigned to imported rows and the first rejected lines.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClassImportResponse {
+    private long imported;
+    private long rejected;
+    private Integer firstId;
+    private Integer lastId;
+    private long elapsedMs;
+    private List<Reject> rejects;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Reject {
+        private long line;
+        private String reason;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.demo.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One page of a keyset-paginated class listing; pass {@code nextAfter} as {@code after} to get the next page.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClassPageResponse {
+    private List<ClassResponse> items;
+    private Integer nextAfter;
+    private boolean hasMore;
+}
@@ -1,16 +1,17 @@
-package com.example.demo.dto.response;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.Setter;
-
-@Getter
-@Setter
-@NoArgsConstructor
-@AllArgsConstructor
-@Builder
-public class ClassResponse {
-    private int id;
-    private String name;
+package com.example.demo.dto.response;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClassResponse {
+    private int id;
+    private String name;
+    private long version;
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.example.demo.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One page of a class's students by student id; pass {@code nextAfter} as {@code after} to get the next page.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClassRosterResponse {
+    private Integer classId;
+    private List<StudentResponse> items;
+    private Integer nextAfter;
+    private boolean hasMore;
+}
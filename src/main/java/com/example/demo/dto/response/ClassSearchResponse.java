@@ -0,0 +1,25 @@
+package com.example.demo.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One page of class search results; pass {@code nextOffset} as {@code offset} to get the next page.
+ * {@code engine} tells which index answered ("postgres" or "memory").
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClassSearchResponse {
+    private List<ClassResponse> items;
+    private Integer nextOffset;
+    private boolean hasMore;
+    private String engine;
+}
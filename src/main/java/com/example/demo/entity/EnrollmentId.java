@@ -0,0 +1,21 @@
+package com.example.demo.entity;
+
+import java.io.Serializable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class EnrollmentId implements Serializable {
+    @Column(name = "class_id")
+    private Integer classId;
+
+    @Column(name = "student_id")
+    private Integer studentId;
+}
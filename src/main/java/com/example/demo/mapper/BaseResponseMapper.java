@@ -1,8 +1,8 @@
-package com.example.demo.mapper;
-
-import java.util.List;
-
-public interface BaseResponseMapper<D, E> {
-    D toDto(E entity);
-    List<D> toListDto(List<E> entityList);
-}
+package com.example.demo.mapper;
+
+import java.util.List;
+
+public interface BaseResponseMapper<D, E> {
+    D toDto(E entity);
+    List<D> toListDto(List<E> entityList);
+}
@@ -1,12 +1,34 @@
-package com.example.demo.repository;
-
-import java.util.Optional;
-
-import org.springframework.data.jpa.repository.JpaRepository;
-
-import com.example.demo.entity.ClassEntity;
-
-public interface ClassRepository extends JpaRepository<ClassEntity, Integer> {
-    // Additional query methods can be defined here if needed
-    Optional<ClassEntity> findByName(String name);
-}
+package com.example.demo.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.example.demo.entity.ClassEntity;
+
+import jakarta.persistence.QueryHint;
+
+public interface ClassRepository extends JpaRepository<ClassEntity, Integer>, ClassRepositoryCustom {
+    // Additional query methods can be defined here if needed
+    // Names aren't unique; the lowest id wins (classes_name_idx)
+    Optional<ClassEntity> findFirstByNameOrderByIdAsc(String name);
+
+    // Forward-only id scan; must be consumed inside a transaction and closed
+    @Query("select c.id from ClassEntity c")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<Integer> streamAllIds();
+
+    // Bulk delete in a single statement; bypasses the persistence context
+    @Modifying
+    @Query("delete from ClassEntity c where c.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Integer> ids);
+
+}
@@ -0,0 +1,45 @@
+package com.example.demo.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import com.example.demo.dto.response.ClassResponse;
+import com.example.demo.entity.ClassEntity;
+
+/**
+ * Plain JDBC statements for the hot paths.
+ * Writes return the affected row ({@code RETURNING}), so callers need no prior read; an empty result means no row had the id.
+ * Reads map rows straight into {@link ClassResponse}, with no entities to hydrate, track or map. They run in read-only
+ * transactions, so replicas can serve them; streams use the caller's transaction, which stays open while they're read.
+ */
+public interface ClassRepositoryCustom {
+    // Sets the name (kept when null) and increments the version
+    Optional<ClassEntity> updateNameReturning(Integer id, String name);
+
+    Optional<ClassEntity> deleteReturning(Integer id);
+
+    List<ClassResponse> findAllProjected();
+
+    Optional<ClassResponse> findProjectedById(Integer id);
+
+    // The class with the lowest id among those with this name (classes_name_idx)
+    Optional<ClassResponse> findProjectedByName(String name);
+
+    List<ClassResponse> findProjectedByIds(Collection<Integer> ids);
+
+    // Case-insensitive name prefix, by lower-cased name then id (classes_name_prefix_idx)
+    List<ClassResponse> searchByNamePrefix(String prefix, int offset, int limit);
+
+    // Trigram similarity to the query (pg_trgm, classes_name_trgm_idx), most similar first
+    List<ClassResponse> searchByNameSimilarity(String query, int offset, int limit);
+
+    // Keyset pagination: up to limit rows after the given id, served by the primary key index
+    List<ClassResponse> findPageProjected(int after, int limit);
+
+    // Forward-only cursor for bulk loads; must be consumed inside a transaction and closed
+    Stream<ClassResponse> streamAllProjected();
+
+    Stream<ClassResponse> streamProjectedByIdRange(int firstId, int lastId);
+}
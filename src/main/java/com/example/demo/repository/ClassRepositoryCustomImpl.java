@@ -0,0 +1,131 @@
+package com.example.demo.repository;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.dto.response.ClassResponse;
+import com.example.demo.entity.ClassEntity;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class ClassRepositoryCustomImpl implements ClassRepositoryCustom {
+
+    private static final String UPDATE_NAME_SQL =
+            "update classes set name = coalesce(?, name), version = version + 1 where id = ? returning id, name, version";
+    private static final String DELETE_SQL = "delete from classes where id = ? returning id, name, version";
+
+    private static final String SELECT_ALL_SQL = "select id, name, version from classes order by id";
+    private static final String SELECT_BY_ID_SQL = "select id, name, version from classes where id = ?";
+    private static final String SELECT_BY_NAME_SQL =
+            "select id, name, version from classes where name = ? order by id limit 1";
+    private static final String SELECT_BY_IDS_SQL = "select id, name, version from classes where id = any(?)";
+    private static final String PREFIX_SEARCH_SQL = "select id, name, version from classes "
+            + "where lower(name) collate \"C\" like ? order by lower(name) collate \"C\", id limit ? offset ?";
+    private static final String SIMILARITY_SEARCH_SQL = "select id, name, version from classes "
+            + "where name % ? order by similarity(name, ?) desc, id limit ? offset ?";
+    private static final String SELECT_PAGE_SQL = "select id, name, version from classes where id > ? order by id limit ?";
+    private static final String SCAN_SQL = "select id, name, version from classes";
+    private static final String SCAN_RANGE_SQL = "select id, name, version from classes where id between ? and ?";
+    private static final int SCAN_FETCH_SIZE = 1000;
+
+    private static final RowMapper<ClassResponse> RESPONSE_MAPPER = (rs, rowNum) -> new ClassResponse(
+            rs.getInt(1), rs.getString(2), rs.getLong(3));
+
+    private static final RowMapper<ClassEntity> ROW_MAPPER = (rs, rowNum) -> ClassEntity.builder()
+            .id(rs.getInt("id"))
+            .name(rs.getString("name"))
+            .version(rs.getLong("version"))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<ClassEntity> updateNameReturning(Integer id, String name) {
+        return jdbcTemplate.query(UPDATE_NAME_SQL, ROW_MAPPER, name, id).stream().findFirst();
+    }
+
+    @Override
+    public Optional<ClassEntity> deleteReturning(Integer id) {
+        return jdbcTemplate.query(DELETE_SQL, ROW_MAPPER, id).stream().findFirst();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ClassResponse> findAllProjected() {
+        return jdbcTemplate.query(SELECT_ALL_SQL, RESPONSE_MAPPER);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ClassResponse> findProjectedById(Integer id) {
+        return jdbcTemplate.query(SELECT_BY_ID_SQL, RESPONSE_MAPPER, id).stream().findFirst();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ClassResponse> findProjectedByName(String name) {
+        return jdbcTemplate.query(SELECT_BY_NAME_SQL, RESPONSE_MAPPER, name).stream().findFirst();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ClassResponse> findProjectedByIds(Collection<Integer> ids) {
+        return jdbcTemplate.query(SELECT_BY_IDS_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("integer", ids.toArray())), RESPONSE_MAPPER);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ClassResponse> searchByNamePrefix(String prefix, int offset, int limit) {
+        return jdbcTemplate.query(PREFIX_SEARCH_SQL, RESPONSE_MAPPER, likePrefix(prefix), limit, offset);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ClassResponse> searchByNameSimilarity(String query, int offset, int limit) {
+        return jdbcTemplate.query(SIMILARITY_SEARCH_SQL, RESPONSE_MAPPER, query, query, limit, offset);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ClassResponse> findPageProjected(int after, int limit) {
+        return jdbcTemplate.query(SELECT_PAGE_SQL, RESPONSE_MAPPER, after, limit);
+    }
+
+    @Override
+    public Stream<ClassResponse> streamAllProjected() {
+        return jdbcTemplate.queryForStream(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SCAN_SQL);
+            statement.setFetchSize(SCAN_FETCH_SIZE);
+            return statement;
+        }, RESPONSE_MAPPER);
+    }
+
+    @Override
+    public Stream<ClassResponse> streamProjectedByIdRange(int firstId, int lastId) {
+        return jdbcTemplate.queryForStream(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SCAN_RANGE_SQL);
+            statement.setFetchSize(SCAN_FETCH_SIZE);
+            statement.setInt(1, firstId);
+            statement.setInt(2, lastId);
+            return statement;
+        }, RESPONSE_MAPPER);
+    }
+
+    // LIKE pattern matching names that start with the (lower-cased) prefix; backslash is LIKE's default escape
+    private static String likePrefix(String prefix) {
+        return prefix.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+    }
+}
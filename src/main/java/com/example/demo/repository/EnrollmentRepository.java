@@ -0,0 +1,39 @@
+package com.example.demo.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.demo.entity.EnrollmentEntity;
+import com.example.demo.entity.EnrollmentId;
+
+public interface EnrollmentRepository extends JpaRepository<EnrollmentEntity, EnrollmentId> {
+
+    // One roster page with its students fetched in the same query (no per-student load). The bound is repeated on
+    // the students side so a merge join starts both index scans at the page instead of at the first student
+    // (an entity graph can't be filtered, so the fetch join is spelled out)
+    @Query("select e from EnrollmentEntity e join fetch e.student s "
+            + "where e.id.classId = :classId and e.id.studentId > :after and s.id > :after order by e.id.studentId")
+    List<EnrollmentEntity> findRosterPage(@Param("classId") int classId, @Param("after") int after, Limit limit);
+
+    @EntityGraph(attributePaths = "classEntity")
+    @Query("select e from EnrollmentEntity e where e.id.studentId = :studentId order by e.id.classId")
+    List<EnrollmentEntity> findByStudentId(@Param("studentId") int studentId);
+
+    // Enrols the given students that exist and aren't enrolled yet in one statement; returns how many were added
+    @Modifying
+    @Query(value = "insert into enrollments (class_id, student_id) "
+            + "select :classId, s.id from students s where s.id in (:studentIds) "
+            + "on conflict do nothing", nativeQuery = true)
+    int enroll(@Param("classId") int classId, @Param("studentIds") Collection<Integer> studentIds);
+
+    @Modifying
+    @Query("delete from EnrollmentEntity e where e.id.classId = :classId and e.id.studentId = :studentId")
+    int unenroll(@Param("classId") int classId, @Param("studentId") int studentId);
+}
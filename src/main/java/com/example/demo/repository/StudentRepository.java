@@ -1,12 +1,20 @@
-package com.example.demo.repository;
-import java.util.Optional;
-
-import org.springframework.data.jpa.repository.JpaRepository;
-
-import com.example.demo.entity.StudentEntity;
-
-
-public interface StudentRepository extends JpaRepository<StudentEntity, Integer> {
-    // Additional query methods can be defined here if needed
-    Optional<StudentEntity> findByName(String name);
-}
+package com.example.demo.repository;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import com.example.demo.dto.response.StudentResponse;
+import com.example.demo.entity.StudentEntity;
+
+
+public interface StudentRepository extends JpaRepository<StudentEntity, Integer> {
+    // Additional query methods can be defined here if needed
+    // Names aren't unique; the lowest id wins (students_name_idx)
+    Optional<StudentEntity> findFirstByNameOrderByIdAsc(String name);
+
+    // DTO projection: no managed entities to hydrate or dirty-check
+    @Query("select new com.example.demo.dto.response.StudentResponse(s.id, s.name) from StudentEntity s order by s.id")
+    List<StudentResponse> findAllProjected();
+}
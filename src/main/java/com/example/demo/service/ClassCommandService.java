@@ -0,0 +1,20 @@
+package com.example.demo.service;
+
+import java.util.concurrent.CompletableFuture;
+
+import com.example.demo.dto.message.ClassCommand;
+import com.example.demo.dto.request.ClassRequest;
+import com.example.demo.dto.response.ClassCommandStatus;
+import com.example.demo.dto.response.ClassResponse;
+
+public interface ClassCommandService {
+    // Writes on the write executor; the futures complete once the write is committed and cached
+    CompletableFuture<ClassResponse> createClassAsync(ClassRequest request);
+    CompletableFuture<ClassResponse> updateClassAsync(Integer id, ClassRequest request);
+    CompletableFuture<Void> deleteClassAsync(Integer id);
+    
+    // Queued commands: accepted right away, applied by the command consumer
+    ClassCommandStatus submit(String action, Integer classId, ClassRequest request);
+    ClassCommandStatus getStatus(String commandId);
+    void execute(ClassCommand command);
+}
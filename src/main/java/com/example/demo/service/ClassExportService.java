@@ -0,0 +1,11 @@
+package com.example.demo.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Streams the classes table as NDJSON (one JSON object per line) with constant memory.
+ */
+public interface ClassExportService {
+    long exportClasses(OutputStream out) throws IOException;
+}
@@ -0,0 +1,16 @@
+package com.example.demo.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.example.demo.dto.response.ClassImportResponse;
+
+/**
+ * Loads classes from a CSV or NDJSON stream straight into the database with {@code COPY}.
+ */
+public interface ClassImportService {
+
+    enum Format { CSV, NDJSON }
+
+    ClassImportResponse importClasses(InputStream in, Format format) throws IOException;
+}
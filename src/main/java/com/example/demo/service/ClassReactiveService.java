@@ -0,0 +1,17 @@
+package com.example.demo.service;
+
+import java.util.List;
+
+import com.example.demo.dto.response.ClassResponse;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking read operations for classes.
+ * Redis lookups never park a thread; database fallbacks run on the bounded elastic scheduler.
+ */
+public interface ClassReactiveService {
+    // Read operations
+    Mono<List<ClassResponse>> getAllClasses();
+    Mono<ClassResponse> getClassById(Integer id);
+}
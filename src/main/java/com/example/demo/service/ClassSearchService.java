@@ -0,0 +1,14 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.response.ClassSearchResponse;
+
+/**
+ * Type-ahead search over class names: PREFIX matches names starting with the query, FUZZY ranks names by
+ * trigram similarity to it. Answered by PostgreSQL or by this node's in-memory index ({@code app.search.engine}).
+ */
+public interface ClassSearchService {
+
+    enum Mode { PREFIX, FUZZY }
+
+    ClassSearchResponse search(String query, Mode mode, int offset, int limit);
+}
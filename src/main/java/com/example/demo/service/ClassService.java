@@ -1,21 +1,32 @@
-package com.example.demo.service;
-
-import java.util.List;
-
-import com.example.demo.dto.request.ClassRequest;
-import com.example.demo.dto.response.ClassResponse;
-
-public interface ClassService {
-    // Create operations
-    ClassResponse createClass(ClassRequest request);
-    
-    // Read operations
-    List<ClassResponse> getAllClasses();
-    ClassResponse getClassById(Integer id);
-    
-    // Update operations
-    ClassResponse updateClass(Integer id, ClassRequest request);
-    
-    // Delete operations
-    void deleteClass(Integer id);
-}
+package com.example.demo.service;
+
+import java.util.List;
+
+import com.example.demo.dto.request.ClassBulkUpdateRequest;
+import com.example.demo.dto.request.ClassRequest;
+import com.example.demo.dto.response.ClassPageResponse;
+import com.example.demo.dto.response.ClassResponse;
+import com.example.demo.service.cache.ClassListSnapshot;
+
+public interface ClassService {
+    // Create operations
+    ClassResponse createClass(ClassRequest request);
+    List<ClassResponse> createClasses(List<ClassRequest> requests);
+    
+    // Read operations
+    List<ClassResponse> getAllClasses();
+    ClassListSnapshot getClassList();
+    Long getClassListVersion();
+    ClassPageResponse getClassPage(Integer after, int limit);
+    ClassResponse getClassById(Integer id);
+    Long getClassVersion(Integer id);
+    ClassResponse getClassByName(String name);
+    
+    // Update operations
+    ClassResponse updateClass(Integer id, ClassRequest request);
+    List<ClassResponse> updateClasses(List<ClassBulkUpdateRequest> requests);
+    
+    // Delete operations
+    void deleteClass(Integer id);
+    int deleteClasses(List<Integer> ids);
+}
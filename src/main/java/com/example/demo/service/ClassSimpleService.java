@@ -1,25 +1,32 @@
-package com.example.demo.service;
-
-import java.util.List;
-
-import com.example.demo.dto.request.ClassRequest;
-import com.example.demo.dto.response.ClassResponse;
-
-/**
- * Simple Class Service without RabbitMQ messaging
- * For performance comparison testing
- */
-public interface ClassSimpleService {
-    // Create operations
-    ClassResponse createClass(ClassRequest request);
-    
-    // Read operations
-    List<ClassResponse> getAllClasses();
-    ClassResponse getClassById(Integer id);
-    
-    // Update operations
-    ClassResponse updateClass(Integer id, ClassRequest request);
-    
-    // Delete operations
-    void deleteClass(Integer id);
-}
+package com.example.demo.service;
+
+import java.util.List;
+
+import com.example.demo.dto.request.ClassRequest;
+import com.example.demo.dto.response.ClassPageResponse;
+import com.example.demo.dto.response.ClassResponse;
+import com.example.demo.service.cache.ClassListSnapshot;
+
+/**
+ * Simple Class Service without RabbitMQ messaging
+ * (except a CREATE event per created class while the Bloom id filter is enabled, so other nodes' filters learn the id)
+ * For performance comparison testing
+ */
+public interface ClassSimpleService {
+    // Create operations
+    ClassResponse createClass(ClassRequest request);
+    
+    // Read operations
+    List<ClassResponse> getAllClasses();
+    ClassListSnapshot getClassList();
+    Long getClassListVersion();
+    ClassPageResponse getClassPage(Integer after, int limit);
+    ClassResponse getClassById(Integer id);
+    Long getClassVersion(Integer id);
+    
+    // Update operations
+    ClassResponse updateClass(Integer id, ClassRequest request);
+    
+    // Delete operations
+    void deleteClass(Integer id);
+}
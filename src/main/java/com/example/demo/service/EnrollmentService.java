@@ -0,0 +1,17 @@
+package com.example.demo.service;
+
+import java.util.List;
+
+import com.example.demo.dto.response.ClassResponse;
+import com.example.demo.dto.response.ClassRosterResponse;
+
+public interface EnrollmentService {
+    // Read operations
+    ClassRosterResponse getRoster(Integer classId, Integer after, int limit);
+    List<ClassResponse> getStudentClasses(int studentId);
+    
+    // Write operations
+    boolean enrollStudent(Integer classId, int studentId);
+    int enrollStudents(Integer classId, List<Integer> studentIds);
+    void unenrollStudent(Integer classId, int studentId);
+}
@@ -0,0 +1,17 @@
+package com.example.demo.service;
+
+import java.util.Map;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link RedisService} for the reactive read paths.
+ */
+public interface ReactiveRedisService {
+
+    Mono<Object> get(String key);
+
+    <T> Mono<T> get(String key, Class<T> clazz);
+
+    Mono<Map<Object, Object>> hashGetAll(String key);
+}
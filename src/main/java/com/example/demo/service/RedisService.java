@@ -1,44 +1,77 @@
-package com.example.demo.service;
-
-import org.springframework.stereotype.Service;
-
-import java.time.Duration;
-import java.util.Collection;
-import java.util.List;
-import java.util.Map;
-
-@Service
-public interface RedisService {
-    // TODO: Working with key-value (String)
-    void set(String key, Object value);
-
-    void set(String key, Object value, Duration timeout);
-
-    Object get(String key);
-
-    <T> T get(String key, Class<T> clazz);
-
-    void del(String key);
-
-    boolean hasKey(String key);
-
-    void expire(String key, Duration timeout);
-
-    // TODO: Working with list
-    void listPush(String key, Object value);
-
-    void listPushAll(String key, Collection<Object> values);
-
-    List<Object> listRange(String key, long start, long end);
-
-    // TODO: Working with hash
-    void hashSet(String key, String field, Object value);
-
-    Object hashGet(String key, String field);
-
-    Map<Object, Object> hashGetAll(String key);
-
-    // TODO: Delete by pattern
-    void deletePattern(String pattern);
-
-}
+package com.example.demo.service;
+
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongPredicate;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+@Service
+public interface RedisService {
+    // TODO: Working with key-value (String)
+    void set(String key, Object value);
+
+    void set(String key, Object value, Duration timeout);
+
+    Object get(String key);
+
+    <T> T get(String key, Class<T> clazz);
+
+    void del(String key);
+
+    void delAll(Collection<String> keys);
+
+    boolean hasKey(String key);
+
+    long countExisting(Collection<String> keys);
+
+    void expire(String key, Duration timeout);
+
+    boolean setIfAbsent(String key, Object value, Duration timeout);
+
+    boolean deleteIfEquals(String key, Object expected);
+
+    boolean setIfNewer(String key, Object value, long version, Duration timeout);
+
+    long setAllIfNewer(Map<String, Object> values, ToLongFunction<Object> versionOf, Supplier<Duration> timeout);
+
+    // TODO: Working with list
+    void listPush(String key, Object value);
+
+    void listPushAll(String key, Collection<Object> values);
+
+    List<Object> listRange(String key, long start, long end);
+
+    // TODO: Working with hash
+    void hashSet(String key, String field, Object value);
+
+    Object hashGet(String key, String field);
+
+    Map<Object, Object> hashGetAll(String key);
+
+    long versionedHashUpdate(String key, String versionKey, String field, Object value, long version);
+
+    long versionedHashRemove(String key, String versionKey, String field);
+
+    Long versionedHashReplace(String key, String versionKey, long expectedVersion, Map<String, Object> entries,
+                              Duration timeout);
+
+    long versionedHashInvalidate(String key, String versionKey);
+
+    // TODO: Version counters
+    long versionCounter(String key, Duration timeout);
+
+    long incrementVersionCounter(String key, Duration timeout);
+
+    long incrementVersionCounterFrom(String key, long floor, Duration timeout);
+
+    // TODO: Delete by pattern
+    void deletePattern(String pattern);
+
+    long deletePattern(String pattern, int batchSize, LongPredicate onProgress);
+
+}
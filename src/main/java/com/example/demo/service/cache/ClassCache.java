@@ -0,0 +1,290 @@
+package com.example.demo.service.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import com.example.demo.configuration.properties.CacheProperties;
+import com.example.demo.dto.response.ClassResponse;
+import com.example.demo.service.RedisService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Read-through Redis cache for {@link ClassResponse} entries of one key region ("class", "simple-class").
+ * <p>
+ * Concurrent misses for the same id share a single database load on this node ({@link SingleFlight}).
+ * When {@code app.cache.lock.enabled} is set, a short-lived Redis lock extends that to other nodes:
+ * the lock holder loads, everyone else polls the cache for a bounded time before loading themselves.
+ * <p>
+ * Entries expire after the region TTL plus random jitter. Reads of an entry close to its expiry
+ * trigger a background refresh with a probability that grows as expiry approaches (XFetch),
+ * so hot keys are recomputed before they expire instead of all missing at once.
+ * <p>
+ * Ids that don't exist are remembered for the region's short negative TTL (an entry without a value under
+ * the same key, so a later create simply overwrites it), and, when enabled, ids rejected by the
+ * {@link ClassIdFilter} Bloom filter are reported as absent without any network call.
+ * <p>
+ * Every write is version-checked in Redis ({@link RedisService#setIfNewer}): an entry is never replaced by one
+ * with a lower row version, so a slow read of an old row can't overwrite what a concurrent update just cached.
+ * "Not found" entries have the lowest version and only fill empty slots; deletes leave a tombstone with the
+ * highest version, so a read that started before the delete can't bring the class back.
+ */
+@Slf4j
+public class ClassCache {
+
+    private static final long NOT_FOUND_VERSION = -1;
+    private static final long DELETED_VERSION = Long.MAX_VALUE;
+
+    private final String region;
+    private final RedisService redisService;
+    private final CacheProperties.Lock lockProperties;
+    private final CacheProperties.Region regionProperties;
+    private final Executor refreshExecutor;
+    private final ClassIdFilter idFilter;
+    private final SingleFlight<Integer, Optional<ClassResponse>> inFlight = new SingleFlight<>();
+    private final Set<Integer> refreshing = ConcurrentHashMap.newKeySet();
+
+    public ClassCache(String region, RedisService redisService, CacheProperties cacheProperties,
+                      Executor refreshExecutor, ClassIdFilter idFilter) {
+        this.region = region;
+        this.redisService = redisService;
+        this.lockProperties = cacheProperties.getLock();
+        this.regionProperties = cacheProperties.region(region);
+        this.refreshExecutor = refreshExecutor;
+        this.idFilter = idFilter;
+    }
+
+    public ClassResponse get(Integer id) {
+        ClassCacheEntry entry = getEntry(id);
+        return entry != null ? entry.getValue() : null;
+    }
+
+    /**
+     * Returns the cached class or loads it with {@code loader}, caching the result (or its absence).
+     * Exceptions thrown by the loader are propagated to every caller waiting on the same id.
+     */
+    public Optional<ClassResponse> getOrLoad(Integer id, Supplier<Optional<ClassResponse>> loader) {
+        if (!idFilter.mightExist(id)) {
+            log.debug("Bloom filter rejected {}", key(id));
+            return Optional.empty();
+        }
+
+        ClassCacheEntry entry = getEntry(id);
+        if (entry != null) {
+            log.debug("Cache hit for {}", key(id));
+            if (entry.getValue() != null && shouldRefreshEarly(entry)) {
+                refreshInBackground(id, loader);
+            }
+            return Optional.ofNullable(entry.getValue());
+        }
+        return inFlight.execute(id, () -> load(id, loader, false));
+    }
+
+    /**
+     * Version of the cached class, or null if it isn't cached (or is cached as absent). One Redis read and no
+     * database load, so it can validate conditional requests.
+     */
+    public Long version(Integer id) {
+        if (!idFilter.mightExist(id)) {
+            return null;
+        }
+        ClassCacheEntry entry = getEntry(id);
+        return entry != null && entry.getValue() != null ? entry.getVersion() : null;
+    }
+
+    public boolean mightExist(Integer id) {
+        return idFilter.mightExist(id);
+    }
+
+    public void put(ClassResponse response) {
+        idFilter.add(response.getId());
+        put(response, 0);
+    }
+
+    /**
+     * Caches all {@code responses} in one pipelined round trip, without replacing newer entries
+     * (e.g. written behind or by a concurrent update).
+     *
+     * @return the number of entries written
+     */
+    public long putAll(Collection<ClassResponse> responses) {
+        long now = System.currentTimeMillis();
+        Map<String, Object> entries = new LinkedHashMap<>();
+        for (ClassResponse response : responses) {
+            idFilter.add(response.getId());
+            entries.put(key(response.getId()), ClassCacheEntry.builder()
+                    .value(response)
+                    .expiresAt(now + regionProperties.getTtl().toMillis())
+                    .version(response.getVersion())
+                    .build());
+        }
+        return redisService.setAllIfNewer(entries, entry -> ((ClassCacheEntry) entry).getVersion(), this::jitteredTtl);
+    }
+
+    /**
+     * Records that the class was deleted, for the negative TTL; nothing read before the delete can replace it.
+     */
+    public void markDeleted(Integer id) {
+        putMissing(id, DELETED_VERSION);
+    }
+
+    /**
+     * {@link #markDeleted} for many ids in one pipelined round trip.
+     */
+    public void markAllDeleted(Collection<Integer> ids) {
+        long expiresAt = System.currentTimeMillis() + regionProperties.getNegativeTtl().toMillis();
+        Map<String, Object> entries = new LinkedHashMap<>();
+        for (Integer id : ids) {
+            entries.put(key(id), ClassCacheEntry.builder()
+                    .expiresAt(expiresAt)
+                    .version(DELETED_VERSION)
+                    .build());
+        }
+        redisService.setAllIfNewer(entries, entry -> DELETED_VERSION, regionProperties::getNegativeTtl);
+    }
+
+    /**
+     * Removes the entry unconditionally, so the next read goes to the database.
+     */
+    public void evict(Integer id) {
+        redisService.del(key(id));
+    }
+
+    public String key(Integer id) {
+        return region + ":" + id;
+    }
+
+    private ClassCacheEntry getEntry(Integer id) {
+        // Entries written before the envelope was introduced are treated as misses
+        return redisService.get(key(id)) instanceof ClassCacheEntry entry ? entry : null;
+    }
+
+    private void putMissing(Integer id, long version) {
+        ClassCacheEntry entry = ClassCacheEntry.builder()
+                .expiresAt(System.currentTimeMillis() + regionProperties.getNegativeTtl().toMillis())
+                .version(version)
+                .build();
+        redisService.setIfNewer(key(id), entry, version, regionProperties.getNegativeTtl());
+    }
+
+    private void put(ClassResponse response, long deltaMillis) {
+        Duration ttl = jitteredTtl();
+        ClassCacheEntry entry = ClassCacheEntry.builder()
+                .value(response)
+                .delta(deltaMillis)
+                .expiresAt(System.currentTimeMillis() + ttl.toMillis())
+                .version(response.getVersion())
+                .build();
+        if (!redisService.setIfNewer(key(response.getId()), entry, response.getVersion(), ttl)) {
+            log.debug("Kept newer entry for {} over version {}", key(response.getId()), response.getVersion());
+        }
+    }
+
+    private Duration jitteredTtl() {
+        long ttlMillis = regionProperties.getTtl().toMillis();
+        double jitter = regionProperties.getJitter() * (2 * ThreadLocalRandom.current().nextDouble() - 1);
+        return Duration.ofMillis(Math.max(1, Math.round(ttlMillis * (1 + jitter))));
+    }
+
+    /**
+     * XFetch: refresh when {@code now - delta * beta * ln(rand)} reaches the expiry.
+     * Since ln(rand) is negative, expensive (large delta) and hot (read often) entries are refreshed earlier.
+     */
+    private boolean shouldRefreshEarly(ClassCacheEntry entry) {
+        double beta = regionProperties.getEarlyRefreshBeta();
+        if (beta <= 0 || entry.getDelta() <= 0) {
+            return false;
+        }
+        double random = 1.0 - ThreadLocalRandom.current().nextDouble(); // (0, 1]
+        double gap = -entry.getDelta() * beta * Math.log(random);
+        return System.currentTimeMillis() + gap >= entry.getExpiresAt();
+    }
+
+    private void refreshInBackground(Integer id, Supplier<Optional<ClassResponse>> loader) {
+        if (!refreshing.add(id)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    inFlight.execute(id, () -> load(id, loader, true));
+                    log.debug("Refreshed {} ahead of expiry", key(id));
+                } catch (RuntimeException e) {
+                    log.warn("Early refresh of {} failed: {}", key(id), e.getMessage());
+                } finally {
+                    refreshing.remove(id);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Refresh queue is full; the entry is still served and will be reloaded on expiry
+            refreshing.remove(id);
+        }
+    }
+
+    private Optional<ClassResponse> load(Integer id, Supplier<Optional<ClassResponse>> loader, boolean refresh) {
+        if (!lockProperties.isEnabled()) {
+            return loadAndCache(id, loader);
+        }
+
+        String lockKey = region + ":lock:" + id;
+        String token = UUID.randomUUID().toString();
+        if (redisService.setIfAbsent(lockKey, token, lockProperties.getTtl())) {
+            try {
+                // Another node may have filled the entry between our miss and the lock
+                ClassCacheEntry cached = refresh ? null : getEntry(id);
+                return cached != null ? Optional.ofNullable(cached.getValue()) : loadAndCache(id, loader);
+            } finally {
+                redisService.deleteIfEquals(lockKey, token);
+            }
+        }
+
+        if (refresh) {
+            // Another node is already refreshing this entry
+            return Optional.ofNullable(get(id));
+        }
+        ClassCacheEntry filled = awaitFill(id);
+        if (filled != null) {
+            return Optional.ofNullable(filled.getValue());
+        }
+        log.debug("Lock for {} not released within {}, loading directly", key(id), lockProperties.getWaitTimeout());
+        return loadAndCache(id, loader);
+    }
+
+    private ClassCacheEntry awaitFill(Integer id) {
+        long deadline = System.nanoTime() + lockProperties.getWaitTimeout().toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(lockProperties.getPollInterval().toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            ClassCacheEntry cached = getEntry(id);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        return null;
+    }
+
+    private Optional<ClassResponse> loadAndCache(Integer id, Supplier<Optional<ClassResponse>> loader) {
+        long start = System.nanoTime();
+        Optional<ClassResponse> response = loader.get();
+        if (response.isPresent()) {
+            put(response.get(), Duration.ofNanos(System.nanoTime() - start).toMillis());
+        } else {
+            putMissing(id, NOT_FOUND_VERSION);
+        }
+        return response;
+    }
+}
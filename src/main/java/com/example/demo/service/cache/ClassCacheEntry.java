@@ -0,0 +1,30 @@
+package com.example.demo.service.cache;
+
+import com.example.demo.dto.response.ClassResponse;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Value stored under a class cache key: the cached response plus the metadata
+ * needed for probabilistic early refresh (XFetch) and version-checked writes.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClassCacheEntry {
+
+    private ClassResponse value;
+
+    // Time it took to recompute the value, in milliseconds
+    private long delta;
+
+    // Logical expiry of the entry, epoch milliseconds (matches the Redis TTL)
+    private long expiresAt;
+
+    // Row version of the value; an entry is never replaced by one with a lower version
+    private long version;
+}
@@ -0,0 +1,146 @@
+package com.example.demo.service.cache;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.configuration.properties.CacheProperties;
+import com.example.demo.dto.response.ClassResponse;
+import com.example.demo.repository.ClassRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Optional startup warm-up of the class caches, so a fresh deploy doesn't start with every read missing.
+ * <p>
+ * Classes are streamed with a database cursor (fetch size, projected straight into DTOs) and written to
+ * every {@link ClassCache} region in pipelined chunks, at most {@code concurrency} chunks at a time; the cursor
+ * waits for a free slot, so memory use is bounded by the chunk size. Entries newer than the streamed row are kept.
+ * <p>
+ * Runs as an {@link ApplicationRunner}: the application only reports readiness (ApplicationReadyEvent) once
+ * runners return, so it stays out of rotation until the warm-up completes or {@code timeout} elapses.
+ */
+@Slf4j
+@Component
+public class ClassCacheWarmer implements ApplicationRunner {
+
+    private final ClassRepository classRepository;
+    private final List<ClassCache> caches;
+    private final CacheProperties.WarmUp properties;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean virtualThreads;
+
+    public ClassCacheWarmer(ClassRepository classRepository, List<ClassCache> caches, CacheProperties cacheProperties,
+                            PlatformTransactionManager transactionManager, Environment environment) {
+        this.classRepository = classRepository;
+        this.caches = caches;
+        this.properties = cacheProperties.getWarmUp();
+        this.virtualThreads = Threading.VIRTUAL.isActive(environment);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        long deadline = System.nanoTime() + properties.getTimeout().toNanos();
+        int concurrency = Math.max(1, properties.getConcurrency());
+        int chunkSize = Math.max(1, properties.getChunkSize());
+
+        // The semaphore bounds concurrent chunks either way
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency, virtualThreads
+                ? Thread.ofVirtual().name("cache-warmup-", 1).factory()
+                : new CustomizableThreadFactory("cache-warmup-"));
+        Semaphore slots = new Semaphore(concurrency);
+        AtomicLong streamed = new AtomicLong();
+        AtomicLong written = new AtomicLong();
+        AtomicLong failedChunks = new AtomicLong();
+        boolean completed = false;
+        try {
+            Boolean submittedAll = readOnlyTransaction.execute(status -> {
+                List<ClassResponse> chunk = new ArrayList<>(chunkSize);
+                try (Stream<ClassResponse> classes = classRepository.streamAllProjected()) {
+                    Iterator<ClassResponse> iterator = classes.iterator();
+                    while (iterator.hasNext()) {
+                        chunk.add(iterator.next());
+                        streamed.incrementAndGet();
+                        if (chunk.size() == chunkSize) {
+                            if (!submit(chunk, executor, slots, deadline, written, failedChunks)) {
+                                return false;
+                            }
+                            chunk = new ArrayList<>(chunkSize);
+                        }
+                    }
+                }
+                return chunk.isEmpty() || submit(chunk, executor, slots, deadline, written, failedChunks);
+            });
+            // All chunks are submitted; wait for the last ones to be written
+            completed = Boolean.TRUE.equals(submittedAll)
+                    && slots.tryAcquire(concurrency, remaining(deadline), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Class cache warm-up failed: {}", e.getMessage(), e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        if (completed) {
+            log.info("Class cache warm-up finished: {} classes streamed, {} entries written to {} regions, {} chunks failed, in {}ms",
+                    streamed.get(), written.get(), caches.size(), failedChunks.get(), System.currentTimeMillis() - start);
+        } else {
+            log.warn("Class cache warm-up stopped after {}ms (timeout {}): {} classes streamed, {} entries written",
+                    System.currentTimeMillis() - start, properties.getTimeout(), streamed.get(), written.get());
+        }
+    }
+
+    /**
+     * Waits for a free slot (or the deadline) and writes the chunk to every region in the background.
+     */
+    private boolean submit(List<ClassResponse> chunk, ExecutorService executor, Semaphore slots, long deadline,
+                           AtomicLong written, AtomicLong failedChunks) {
+        try {
+            if (!slots.tryAcquire(remaining(deadline), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        executor.execute(() -> {
+            try {
+                for (ClassCache cache : caches) {
+                    written.addAndGet(cache.putAll(chunk));
+                }
+            } catch (Exception e) {
+                failedChunks.incrementAndGet();
+                log.warn("Class cache warm-up chunk of {} failed: {}", chunk.size(), e.getMessage());
+            } finally {
+                slots.release();
+            }
+        });
+        return true;
+    }
+
+    private static long remaining(long deadline) {
+        return Math.max(0, deadline - System.nanoTime());
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.demo.service.cache;
+
+import java.util.stream.Stream;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.configuration.datasource.ReadYourWrites;
+import com.example.demo.configuration.properties.CacheProperties;
+import com.example.demo.repository.ClassRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Optional in-memory Bloom filter of existing class ids, used to reject obviously absent ids
+ * before any Redis or database call.
+ * <p>
+ * The filter is built from the database on startup and rebuilt periodically; ids created in between
+ * are added by this node's writes and by the class event broadcast. Every create path publishes a class event
+ * while the filter is enabled, so no node reports a class created through the application as absent; rows
+ * inserted outside it are only seen with change data capture ({@code app.cdc.enabled}) or after the next rebuild.
+ * Until the first build completes (or when disabled) every id is reported as possibly existing.
+ */
+@Slf4j
+@Component
+public class ClassIdFilter {
+
+    private final ClassRepository classRepository;
+    private final CacheProperties.BloomFilter properties;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private volatile BloomFilter current;
+    private volatile BloomFilter building;
+
+    public ClassIdFilter(ClassRepository classRepository, CacheProperties cacheProperties,
+                         PlatformTransactionManager transactionManager) {
+        this.classRepository = classRepository;
+        this.properties = cacheProperties.getBloomFilter();
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public boolean mightExist(Integer id) {
+        BloomFilter filter = current;
+        return filter == null || filter.mightContain(id);
+    }
+
+    public void add(Integer id) {
+        BloomFilter filter = current;
+        if (filter != null) {
+            filter.put(id);
+        }
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(id);
+        }
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.cache.bloom-filter.rebuild-interval:PT10M}")
+    public void rebuild() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            long expected = Math.max(properties.getExpectedInsertions(), classRepository.count() * 2);
+            BloomFilter next = BloomFilter.create(expected, properties.getFalsePositiveRate());
+            building = next;
+
+            // A lagging replica would miss ids created just before the build, and adds to the
+            // building filter stop when it replaces the current one
+            Long inserted = ReadYourWrites.onPrimary(() -> readOnlyTransaction.execute(status -> {
+                try (Stream<Integer> ids = classRepository.streamAllIds()) {
+                    return ids.mapToLong(id -> {
+                        next.put(id);
+                        return 1;
+                    }).sum();
+                }
+            }));
+
+            current = next;
+            log.info("Class id Bloom filter rebuilt with {} ids ({} bits, {} hashes) in {}ms",
+                    inserted, next.bitCount(), next.hashCount(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("Failed to rebuild class id Bloom filter: {}", e.getMessage(), e);
+        } finally {
+            building = null;
+        }
+    }
+}
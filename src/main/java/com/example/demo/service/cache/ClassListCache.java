@@ -0,0 +1,143 @@
+package com.example.demo.service.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import com.example.demo.configuration.properties.CacheProperties;
+import com.example.demo.dto.response.ClassResponse;
+import com.example.demo.service.RedisService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The full class list of one key region, kept in Redis as a hash ({@code <region>:list}, one field per class id)
+ * and maintained incrementally: every create/update/delete sets or removes one field and increments the version
+ * counter ({@code <region>:list:version}). A set never replaces an entry with a higher version, so changes synced
+ * out of order (class events are handled concurrently) can't leave an older row under a newer list version.
+ * Reads fetch the hash, including the version it corresponds to, in one round trip.
+ * <p>
+ * The hash is built from the database on first read (or after it was evicted). The build only succeeds if no update
+ * happened in the meantime, and updates never create a partial hash, so the cached list can't miss a change made
+ * through the application (every class write path updates the lists of all regions). Writes made outside it are
+ * picked up when the hash expires, at most the region's {@code list-ttl} after it was built.
+ */
+@Slf4j
+public class ClassListCache {
+
+    private static final String VERSION_FIELD = "_version";
+    private static final Comparator<ClassResponse> BY_ID = Comparator.comparingInt(ClassResponse::getId);
+
+    private final String key;
+    private final String versionKey;
+    private final RedisService redisService;
+    private final Duration ttl;
+    private final SingleFlight<String, ClassListSnapshot> inFlight = new SingleFlight<>();
+
+    public ClassListCache(String region, RedisService redisService, CacheProperties cacheProperties) {
+        this.key = region + ":list";
+        this.versionKey = region + ":list:version";
+        this.redisService = redisService;
+        this.ttl = cacheProperties.region(region).getListTtl();
+    }
+
+    public String key() {
+        return key;
+    }
+
+    /**
+     * Version of the cached list, or null if it isn't cached. Cheap enough for conditional requests.
+     */
+    public Long version() {
+        return toLong(redisService.hashGet(key, VERSION_FIELD));
+    }
+
+    public ClassListSnapshot getOrLoad(Supplier<List<ClassResponse>> loader) {
+        Map<Object, Object> hash = redisService.hashGetAll(key);
+        if (hash != null && !hash.isEmpty()) {
+            return snapshot(hash);
+        }
+        return inFlight.execute(key, () -> rebuild(loader));
+    }
+
+    public void put(ClassResponse response) {
+        redisService.versionedHashUpdate(key, versionKey, String.valueOf(response.getId()), response,
+                response.getVersion());
+    }
+
+    public void remove(Integer id) {
+        redisService.versionedHashRemove(key, versionKey, String.valueOf(id));
+    }
+
+    /**
+     * Drops the cached list after a change too large to apply entry by entry (e.g. an import); it's rebuilt on next read.
+     */
+    public void invalidate() {
+        redisService.versionedHashInvalidate(key, versionKey);
+    }
+
+    /**
+     * Brings the entry of {@code id} in line with its current state: stored when present, removed otherwise.
+     */
+    public void refresh(Integer id, Optional<ClassResponse> current) {
+        if (current.isPresent()) {
+            put(current.get());
+        } else {
+            remove(id);
+        }
+    }
+
+    /**
+     * Like {@link #refresh}, but also replaces an entry with a higher version than {@code current} (one that
+     * was cached but never persisted).
+     */
+    public void replace(Integer id, Optional<ClassResponse> current) {
+        remove(id);
+        current.ifPresent(this::put);
+    }
+
+    private ClassListSnapshot rebuild(Supplier<List<ClassResponse>> loader) {
+        long expectedVersion = Optional.ofNullable(toLong(redisService.get(versionKey))).orElse(0L);
+        List<ClassResponse> classes = new ArrayList<>(loader.get());
+        classes.sort(BY_ID);
+
+        Map<String, Object> entries = new LinkedHashMap<>();
+        for (ClassResponse response : classes) {
+            entries.put(String.valueOf(response.getId()), response);
+        }
+        Long version = redisService.versionedHashReplace(key, versionKey, expectedVersion, entries, ttl);
+        if (version == null) {
+            log.debug("{} changed while being rebuilt, serving the loaded list uncached", key);
+        } else {
+            log.info("Rebuilt {} with {} classes at version {}", key, classes.size(), version);
+        }
+        return new ClassListSnapshot(version, classes);
+    }
+
+    /**
+     * The list held by the hash at {@link #key()}, for callers that read it themselves (e.g. through the reactive
+     * template).
+     */
+    public ClassListSnapshot snapshot(Map<Object, Object> hash) {
+        List<ClassResponse> classes = new ArrayList<>(hash.size());
+        Long version = null;
+        for (Map.Entry<Object, Object> field : hash.entrySet()) {
+            if (VERSION_FIELD.equals(field.getKey())) {
+                version = toLong(field.getValue());
+            } else if (field.getValue() instanceof ClassResponse response) {
+                classes.add(response);
+            }
+        }
+        classes.sort(BY_ID);
+        return new ClassListSnapshot(version, classes);
+    }
+
+    private static Long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : null;
+    }
+}
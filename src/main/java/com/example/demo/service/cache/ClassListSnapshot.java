@@ -0,0 +1,24 @@
+package com.example.demo.service.cache;
+
+import java.util.List;
+
+import com.example.demo.dto.response.ClassResponse;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The class list together with the version it was read at; the version is null when the list
+ * couldn't be cached consistently (it changed while being rebuilt).
+ */
+@Getter
+@AllArgsConstructor
+public class ClassListSnapshot {
+
+    private final Long version;
+    private final List<ClassResponse> classes;
+
+    public String eTag() {
+        return version != null ? "\"" + version + "\"" : null;
+    }
+}
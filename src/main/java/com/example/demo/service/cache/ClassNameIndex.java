@@ -0,0 +1,100 @@
+package com.example.demo.service.cache;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.example.demo.configuration.properties.CacheProperties;
+import com.example.demo.dto.response.ClassResponse;
+import com.example.demo.service.RedisService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Redis name-to-id entries ({@code <region>:name:<name>}) in front of the {@link ClassCache} of the same region,
+ * so a lookup by name is two cache hits, or one index probe when the name isn't cached.
+ * <p>
+ * An entry is only a hint: the class it points to is read through the class cache and must still carry the name.
+ * A class renamed or deleted since drops the entry and the name is looked up again. Names that don't exist are
+ * remembered for the region's negative TTL; creates and renames evict the entry of the new name. Remembered misses
+ * carry the generation they were recorded in ({@code <region>:name:missing:version}), so changes that add too many
+ * names to evict one by one (imports) drop them all with {@link #evictMissing}.
+ */
+@Slf4j
+public class ClassNameIndex {
+
+    private final String region;
+    private final RedisService redisService;
+    private final CacheProperties.Region regionProperties;
+
+    public ClassNameIndex(String region, RedisService redisService, CacheProperties cacheProperties) {
+        this.region = region;
+        this.redisService = redisService;
+        this.regionProperties = cacheProperties.region(region);
+    }
+
+    /**
+     * Resolves the name to an id from Redis and the class with {@code byId}; on a miss or a stale entry,
+     * loads it with {@code loader} and caches the id (or the name's absence).
+     */
+    public Optional<ClassResponse> getOrLoad(String name, Function<Integer, Optional<ClassResponse>> byId,
+                                             Supplier<Optional<ClassResponse>> loader) {
+        Object cached = redisService.get(key(name));
+        if (cached instanceof Number missing && missing.longValue() < 0) {
+            // A remembered miss, stored as its negated generation
+            if (-missing.longValue() == missingGeneration()) {
+                return Optional.empty();
+            }
+            log.debug("Stale missing entry {}", key(name));
+        } else if (cached instanceof Integer id) {
+            Optional<ClassResponse> response = byId.apply(id);
+            if (response.isPresent() && name.equals(response.get().getName())) {
+                log.debug("Cache hit for {}", key(name));
+                return response;
+            }
+            log.debug("Stale entry {} -> {}", key(name), id);
+        }
+
+        Optional<ClassResponse> response = loader.get();
+        if (response.isPresent()) {
+            redisService.set(key(name), response.get().getId(), regionProperties.getTtl());
+        } else {
+            redisService.set(key(name), -missingGeneration(), regionProperties.getNegativeTtl());
+        }
+        return response;
+    }
+
+    /**
+     * Forgets every remembered miss of the region.
+     */
+    public void evictMissing() {
+        long generation = redisService.incrementVersionCounter(missingVersionKey(), regionProperties.getNegativeTtl());
+        log.debug("Missing names of {} now at generation {}", region, generation);
+    }
+
+    private long missingGeneration() {
+        return redisService.versionCounter(missingVersionKey(), regionProperties.getNegativeTtl());
+    }
+
+    private String missingVersionKey() {
+        return region + ":name:missing:version";
+    }
+
+    public void evict(String name) {
+        if (name != null) {
+            redisService.del(key(name));
+        }
+    }
+
+    /**
+     * {@link #evict} for many names with one DEL.
+     */
+    public void evictAll(Collection<String> names) {
+        redisService.delAll(names.stream().distinct().map(this::key).toList());
+    }
+
+    public String key(String name) {
+        return region + ":name:" + name;
+    }
+}
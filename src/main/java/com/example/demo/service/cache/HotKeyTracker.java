@@ -0,0 +1,137 @@
+package com.example.demo.service.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Top-K heavy hitters over a stream of keys with bounded memory (Space-Saving, Metwally et al.).
+ * <p>
+ * At most {@code capacity} keys are counted. When a new key arrives and the table is full, it replaces the key
+ * with the lowest count and inherits that count as its error bound, so any key seen more than
+ * {@code total / capacity} times is guaranteed to be in the table and reported counts overestimate
+ * by at most {@link HotKey#error()}.
+ * <p>
+ * Counters are kept in a min-heap by count, so finding the key to replace is O(1) and every record is
+ * O(log capacity) under the lock.
+ */
+public class HotKeyTracker {
+
+    public record HotKey(String key, long count, long error) {
+    }
+
+    private static final class Counter {
+        String key;
+        long count;
+        long error;
+        int index;
+    }
+
+    private final Counter[] heap;
+    private final Map<String, Counter> counters;
+    private int size;
+    private long total;
+
+    public HotKeyTracker(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.heap = new Counter[capacity];
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    public synchronized void record(String key) {
+        total++;
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            counter.count++;
+            siftDown(counter.index);
+            return;
+        }
+        if (size < heap.length) {
+            counter = new Counter();
+            counter.key = key;
+            counter.count = 1;
+            counter.index = size;
+            heap[size++] = counter;
+            counters.put(key, counter);
+            siftUp(counter.index);
+            return;
+        }
+        // Replace the minimum, which sits at the root
+        Counter replaced = heap[0];
+        counters.remove(replaced.key);
+        replaced.key = key;
+        replaced.error = replaced.count;
+        replaced.count++;
+        counters.put(key, replaced);
+        siftDown(0);
+    }
+
+    /**
+     * The {@code limit} keys with the highest counts, highest first.
+     */
+    public synchronized List<HotKey> top(int limit) {
+        List<HotKey> keys = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            keys.add(new HotKey(heap[i].key, heap[i].count, heap[i].error));
+        }
+        keys.sort(Comparator.comparingLong(HotKey::count).reversed());
+        return keys.size() > limit ? new ArrayList<>(keys.subList(0, limit)) : keys;
+    }
+
+    /**
+     * Number of keys recorded since the last reset.
+     */
+    public synchronized long total() {
+        return total;
+    }
+
+    public synchronized void reset() {
+        counters.clear();
+        Arrays.fill(heap, null);
+        size = 0;
+        total = 0;
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (heap[parent].count <= heap[index].count) {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int smallest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && heap[left].count < heap[smallest].count) {
+                smallest = left;
+            }
+            if (right < size && heap[right].count < heap[smallest].count) {
+                smallest = right;
+            }
+            if (smallest == index) {
+                return;
+            }
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    private void swap(int i, int j) {
+        Counter counter = heap[i];
+        heap[i] = heap[j];
+        heap[j] = counter;
+        heap[i].index = i;
+        heap[j].index = j;
+    }
+}
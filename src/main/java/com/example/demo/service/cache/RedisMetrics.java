@@ -0,0 +1,132 @@
+package com.example.demo.service.cache;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Micrometer instrumentation for {@link com.example.demo.service.RedisService}, tagged by key namespace
+ * (the key up to its first ':', e.g. "class" or "simple-class"):
+ * <ul>
+ *   <li>{@code redis.operations} timer per operation, namespace and outcome</li>
+ *   <li>{@code redis.cache.gets} counter per namespace and result (hit/miss) for reads</li>
+ * </ul>
+ * A sample of read keys (10% by default; every read would contend on the tracker's lock) is also fed to a
+ * {@link HotKeyTracker}, which is reset every {@code app.redis.metrics.hot-keys.window} so it reflects current traffic.
+ */
+@Component
+public class RedisMetrics {
+
+    // Namespaces come from keys; past this many, new ones are tagged "other" to bound tag cardinality
+    private static final int MAX_NAMESPACES = 32;
+
+    private final MeterRegistry meterRegistry;
+    private final HotKeyTracker hotKeys;
+    private final double sampleRate;
+    private final Set<String> namespaces = ConcurrentHashMap.newKeySet();
+    private volatile long windowStart = System.currentTimeMillis();
+
+    public RedisMetrics(MeterRegistry meterRegistry,
+                        @Value("${app.redis.metrics.hot-keys.capacity:100}") int hotKeyCapacity,
+                        @Value("${app.redis.metrics.hot-keys.sample-rate:0.1}") double sampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.hotKeys = new HotKeyTracker(hotKeyCapacity);
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Times a read and counts it as a hit (non-null, non-empty result) or miss.
+     */
+    public <T> T read(String operation, String key, Supplier<T> call) {
+        T result = time(operation, key, call);
+        meterRegistry.counter("redis.cache.gets", "namespace", namespace(key), "result", isHit(result) ? "hit" : "miss")
+                .increment();
+        if (sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            hotKeys.record(key);
+        }
+        return result;
+    }
+
+    public <T> T time(String operation, String key, Supplier<T> call) {
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            Timer.builder("redis.operations")
+                    .tag("operation", operation)
+                    .tag("namespace", namespace(key))
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void time(String operation, String key, Runnable call) {
+        time(operation, key, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    public List<HotKeyTracker.HotKey> hotKeys(int limit) {
+        return hotKeys.top(limit);
+    }
+
+    public long hotKeyReads() {
+        return hotKeys.total();
+    }
+
+    public long hotKeyWindowStart() {
+        return windowStart;
+    }
+
+    public double sampleRate() {
+        return sampleRate;
+    }
+
+    @Scheduled(initialDelayString = "${app.redis.metrics.hot-keys.window:PT5M}",
+            fixedDelayString = "${app.redis.metrics.hot-keys.window:PT5M}")
+    public void rotateHotKeys() {
+        hotKeys.reset();
+        windowStart = System.currentTimeMillis();
+    }
+
+    String namespace(String key) {
+        int colon = key != null ? key.indexOf(':') : -1;
+        String namespace = colon > 0 ? key.substring(0, colon) : "none";
+        if (namespaces.contains(namespace)) {
+            return namespace;
+        }
+        if (namespaces.size() >= MAX_NAMESPACES) {
+            return "other";
+        }
+        namespaces.add(namespace);
+        return namespace;
+    }
+
+    private static boolean isHit(Object result) {
+        if (result instanceof Map<?, ?> map) {
+            return !map.isEmpty();
+        }
+        if (result instanceof Collection<?> collection) {
+            return !collection.isEmpty();
+        }
+        return result != null;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.demo.service.cache;
+
+import java.util.function.Supplier;
+
+import com.example.demo.configuration.properties.CacheProperties;
+import com.example.demo.dto.response.ClassRosterResponse;
+import com.example.demo.service.RedisService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cached roster pages of one key region, versioned per class: {@code <region>:roster:<classId>:version} is a counter
+ * and pages are stored under {@code <region>:roster:<classId>:v<version>:<after>:<limit>}.
+ * <p>
+ * An enrolment change only increments the counter; pages of older versions are never read again and expire with
+ * the region's TTL. A page loaded while the roster changed is stored under the version read before loading,
+ * so it can't outlive the change.
+ */
+@Slf4j
+public class RosterCache {
+
+    private final String region;
+    private final RedisService redisService;
+    private final CacheProperties.Region regionProperties;
+
+    public RosterCache(String region, RedisService redisService, CacheProperties cacheProperties) {
+        this.region = region;
+        this.redisService = redisService;
+        this.regionProperties = cacheProperties.region(region);
+    }
+
+    public ClassRosterResponse getOrLoad(int classId, int after, int limit, Supplier<ClassRosterResponse> loader) {
+        long version = redisService.versionCounter(versionKey(classId), regionProperties.getTtl());
+        String key = region + ":roster:" + classId + ":v" + version + ":" + after + ":" + limit;
+        if (redisService.get(key) instanceof ClassRosterResponse cached) {
+            log.debug("Cache hit for {}", key);
+            return cached;
+        }
+
+        ClassRosterResponse page = loader.get();
+        redisService.set(key, page, regionProperties.getTtl());
+        return page;
+    }
+
+    /**
+     * Makes every cached page of the class's roster unreachable.
+     */
+    public void invalidate(int classId) {
+        long version = redisService.incrementVersionCounter(versionKey(classId), regionProperties.getTtl());
+        log.debug("Roster of class {} now at version {}", classId, version);
+    }
+
+    private String versionKey(int classId) {
+        return region + ":roster:" + classId + ":version";
+    }
+}
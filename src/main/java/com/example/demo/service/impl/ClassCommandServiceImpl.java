@@ -0,0 +1,166 @@
+package com.example.demo.service.impl;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.configuration.datasource.ReadYourWrites;
+import com.example.demo.configuration.properties.ClassCommandProperties;
+import com.example.demo.dto.message.ClassCommand;
+import com.example.demo.dto.request.ClassRequest;
+import com.example.demo.dto.response.ClassCommandStatus;
+import com.example.demo.dto.response.ClassResponse;
+import com.example.demo.service.ClassCommandService;
+import com.example.demo.service.ClassService;
+import com.example.demo.service.RedisService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Class writes that don't hold a servlet thread. They run {@link ClassService}'s writes unchanged, so caching and
+ * events are the same as for the synchronous endpoints.
+ * <p>
+ * The {@code *Async} methods run the write on the bounded {@code classWriteExecutor}; the future completes when the
+ * write is committed and the cache updated (publishing the event doesn't wait for the broker), so a client reading
+ * after the response sees its write. {@link #submit} records a {@code PENDING} status in Redis and queues the command;
+ * the command consumer applies it and records the outcome. A redelivered command whose outcome is already
+ * recorded is not applied again.
+ */
+@Slf4j
+@Service
+public class ClassCommandServiceImpl implements ClassCommandService {
+
+    private static final String STATUS_KEY_PREFIX = "class-command:";
+
+    private final ClassService classService;
+    private final RedisService redisService;
+    private final RabbitTemplate rabbitTemplate;
+    private final ClassCommandProperties properties;
+    private final Executor writeExecutor;
+
+    @Value("${app.rabbitmq.class.exchange.name}")
+    private String classExchangeName;
+
+    @Value("${app.rabbitmq.class.command.routing-key}")
+    private String classCommandRoutingKey;
+
+    public ClassCommandServiceImpl(ClassService classService, RedisService redisService, RabbitTemplate rabbitTemplate,
+                                   ClassCommandProperties properties,
+                                   @Qualifier("classWriteExecutor") Executor writeExecutor) {
+        this.classService = classService;
+        this.redisService = redisService;
+        this.rabbitTemplate = rabbitTemplate;
+        this.properties = properties;
+        this.writeExecutor = writeExecutor;
+    }
+
+    @Override
+    public CompletableFuture<ClassResponse> createClassAsync(ClassRequest request) {
+        return onWriteExecutor(() -> classService.createClass(request));
+    }
+
+    @Override
+    public CompletableFuture<ClassResponse> updateClassAsync(Integer id, ClassRequest request) {
+        return onWriteExecutor(() -> classService.updateClass(id, request));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteClassAsync(Integer id) {
+        return onWriteExecutor(() -> {
+            classService.deleteClass(id);
+            return null;
+        });
+    }
+
+    /**
+     * Throws {@link java.util.concurrent.RejectedExecutionException} when the write queue is full.
+     */
+    private <T> CompletableFuture<T> onWriteExecutor(Supplier<T> write) {
+        // Reads made by the write (e.g. the current version for a write-behind update) must see the primary
+        return CompletableFuture.supplyAsync(() -> ReadYourWrites.onPrimary(write), writeExecutor);
+    }
+
+    @Override
+    public ClassCommandStatus submit(String action, Integer classId, ClassRequest request) {
+        ClassCommand command = ClassCommand.builder()
+                .commandId(UUID.randomUUID().toString())
+                .action(action)
+                .classId(classId)
+                .name(request != null ? request.getName() : null)
+                .submittedAt(System.currentTimeMillis())
+                .build();
+        ClassCommandStatus status = ClassCommandStatus.builder()
+                .commandId(command.getCommandId())
+                .action(action)
+                .classId(classId)
+                .status("PENDING")
+                .submittedAt(command.getSubmittedAt())
+                .build();
+
+        // Recorded before publishing, so it can't overwrite the outcome of a command applied right away
+        redisService.set(statusKey(command.getCommandId()), status, properties.getStatusTtl());
+        try {
+            rabbitTemplate.convertAndSend(classExchangeName, classCommandRoutingKey, command);
+        } catch (RuntimeException e) {
+            redisService.del(statusKey(command.getCommandId()));
+            throw e;
+        }
+        log.info("Accepted {} command {} for class id: {}", action, command.getCommandId(), classId);
+        return status;
+    }
+
+    @Override
+    public ClassCommandStatus getStatus(String commandId) {
+        return redisService.get(statusKey(commandId)) instanceof ClassCommandStatus status ? status : null;
+    }
+
+    @Override
+    public void execute(ClassCommand command) {
+        ClassCommandStatus pending = getStatus(command.getCommandId());
+        if (pending != null && !"PENDING".equals(pending.getStatus())) {
+            log.info("Command {} already {}, skipping redelivery", command.getCommandId(), pending.getStatus());
+            return;
+        }
+
+        ClassCommandStatus.ClassCommandStatusBuilder outcome = ClassCommandStatus.builder()
+                .commandId(command.getCommandId())
+                .action(command.getAction())
+                .classId(command.getClassId())
+                .submittedAt(command.getSubmittedAt());
+        try {
+            ClassResponse result = apply(command);
+            outcome.status("SUCCEEDED").result(result).classId(result != null ? result.getId() : command.getClassId());
+        } catch (RuntimeException e) {
+            log.warn("Command {} ({} class id: {}) failed: {}", command.getCommandId(), command.getAction(),
+                    command.getClassId(), e.getMessage());
+            outcome.status("FAILED").error(e.getMessage());
+        }
+        redisService.set(statusKey(command.getCommandId()), outcome.completedAt(System.currentTimeMillis()).build(),
+                properties.getStatusTtl());
+    }
+
+    private ClassResponse apply(ClassCommand command) {
+        ClassRequest request = ClassRequest.builder().name(command.getName()).build();
+        switch (command.getAction()) {
+            case "CREATE":
+                return classService.createClass(request);
+            case "UPDATE":
+                return classService.updateClass(command.getClassId(), request);
+            case "DELETE":
+                classService.deleteClass(command.getClassId());
+                return null;
+            default:
+                throw new IllegalArgumentException("Unknown command action: " + command.getAction());
+        }
+    }
+
+    private static String statusKey(String commandId) {
+        return STATUS_KEY_PREFIX + commandId;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.demo.service.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.dto.response.ClassResponse;
+import com.example.demo.repository.ClassRepository;
+import com.example.demo.service.ClassExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class ClassExportServiceImpl implements ClassExportService {
+
+    // Rows written between flushes to the client
+    private static final int FLUSH_EVERY = 1000;
+
+    private final ClassRepository classRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ClassExportServiceImpl(ClassRepository classRepository, ObjectMapper objectMapper,
+                                  PlatformTransactionManager transactionManager) {
+        this.classRepository = classRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Reads rows through a forward-only cursor (fetch size 1000), projected straight into DTOs, and writes each one
+     * as soon as it is read, so nothing is buffered: no managed entities and no response body.
+     *
+     * @return the number of rows written
+     */
+    @Override
+    public long exportClasses(OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        try (SequenceWriter writer = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n")
+                .writeValues(out)) {
+            Long rows = readOnlyTransaction.execute(status -> {
+                long written = 0;
+                try (Stream<ClassResponse> classes = classRepository.streamAllProjected()) {
+                    Iterator<ClassResponse> iterator = classes.iterator();
+                    while (iterator.hasNext()) {
+                        writer.write(iterator.next());
+                        if (++written % FLUSH_EVERY == 0) {
+                            writer.flush();
+                        }
+                    }
+                } catch (IOException e) {
+                    // Typically the client went away; ends the cursor and the transaction
+                    throw new UncheckedIOException(e);
+                }
+                return written;
+            });
+            if (rows != null && rows > 0) {
+                writer.flush();
+                out.write('\n');
+            }
+            log.info("Exported {} classes as NDJSON in {}ms", rows, System.currentTimeMillis() - start);
+            return rows != null ? rows : 0;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package com.example.demo.service.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.configuration.datasource.ReadYourWrites;
+import com.example.demo.dto.response.ClassImportResponse;
+import com.example.demo.dto.response.ClassResponse;
+import com.example.demo.service.ClassImportService;
+import com.example.demo.service.cache.ClassCache;
+import com.example.demo.service.cache.ClassIdFilter;
+import com.example.demo.service.cache.ClassListCache;
+import com.example.demo.service.cache.ClassNameIndex;
+import com.example.demo.service.messaging.ClassMessagingService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class ClassImportServiceImpl implements ClassImportService {
+
+    private static final int MAX_NAME_LENGTH = 255;
+    private static final int MAX_REPORTED_REJECTS = 100;
+    // Characters collected before they are sent to COPY
+    private static final int COPY_BUFFER_SIZE = 32 * 1024;
+    private static final int WARM_CHUNK_SIZE = 500;
+    // Larger imports aren't written to the cache; their rows are cached on first read
+    private static final int WARM_LIMIT = 50_000;
+
+    private static final String CREATE_STAGING =
+            "create temp table class_import (line_no bigint not null, name varchar(255) not null) on commit drop";
+    private static final String COPY_STAGING = "copy class_import (line_no, name) from stdin with (format csv)";
+
+    // Ids are reserved in whole blocks of classes_seq, as Hibernate's pooled optimizer does (allocationSize 50):
+    // each nextval is the top of a block of 50 ids, so imported rows never collide with ids handed out by Hibernate
+    private static final String INSERT_FROM_STAGING =
+            "with numbered as ("
+            + "  select name, row_number() over (order by line_no) - 1 as n from class_import"
+            + "), blocks as ("
+            + "  select b, nextval('classes_seq') as hi"
+            + "  from generate_series(0, (select (count(*) - 1) / 50 from class_import)) b"
+            + "), inserted as ("
+            + "  insert into classes (id, name, version)"
+            + "  select blocks.hi - 49 + numbered.n % 50, numbered.name, 0"
+            + "  from numbered join blocks on blocks.b = numbered.n / 50"
+            + "  returning id"
+            + ") "
+            + "select count(*), min(id), max(id) from inserted";
+
+    private static final String SELECT_RANGE = "select id, name, version from classes where id between ? and ? order by id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final List<ClassCache> caches;
+    private final List<ClassListCache> listCaches;
+    private final ClassNameIndex classNameIndex;
+    private final ClassIdFilter idFilter;
+    private final ClassMessagingService messagingService;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ClassImportServiceImpl(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, List<ClassCache> caches,
+                                  List<ClassListCache> listCaches, ClassNameIndex classNameIndex, ClassIdFilter idFilter,
+                                  ClassMessagingService messagingService, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.caches = caches;
+        this.listCaches = listCaches;
+        this.classNameIndex = classNameIndex;
+        this.idFilter = idFilter;
+        this.messagingService = messagingService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Reads the stream line by line and copies valid rows into a temporary staging table as they are read,
+     * then inserts them into {@code classes} with one statement; the whole import is one transaction.
+     * Invalid lines are counted and skipped. Afterwards the imported id range is written to every cache region
+     * (up to {@value #WARM_LIMIT} rows), the cached class lists and remembered missing names are dropped and one
+     * {@code IMPORT} event is published.
+     */
+    @Override
+    public ClassImportResponse importClasses(InputStream in, Format format) throws IOException {
+        long start = System.currentTimeMillis();
+        Rejects rejects = new Rejects();
+
+        ClassImportResponse response;
+        try {
+            response = transactionTemplate.execute(status -> jdbcTemplate.execute(
+                    (ConnectionCallback<ClassImportResponse>) connection -> {
+                        try (Statement statement = connection.createStatement()) {
+                            statement.execute(CREATE_STAGING);
+                        }
+                        long copied = copy(connection.unwrap(PGConnection.class), in, format, rejects);
+                        if (copied == 0) {
+                            return ClassImportResponse.builder().build();
+                        }
+                        return jdbcTemplate.queryForObject(INSERT_FROM_STAGING, (rs, rowNum) -> ClassImportResponse.builder()
+                                .imported(rs.getLong(1))
+                                .firstId(rs.getInt(2))
+                                .lastId(rs.getInt(3))
+                                .build());
+                    }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        response.setRejected(rejects.count);
+        response.setRejects(rejects.samples);
+        log.info("Imported {} classes (ids {}..{}), rejected {} lines in {} ms", response.getImported(),
+                response.getFirstId(), response.getLastId(), response.getRejected(), System.currentTimeMillis() - start);
+
+        if (response.getImported() > 0) {
+            for (int id = response.getFirstId(); id <= response.getLastId(); id++) {
+                idFilter.add(id);
+            }
+            if (response.getImported() <= WARM_LIMIT) {
+                // Read back from the primary; replicas may not have the rows yet
+                long warmed = ReadYourWrites.onPrimary(() -> warmCaches(response.getFirstId(), response.getLastId()));
+                log.info("Wrote {} cache entries for imported classes across {} regions", warmed, caches.size());
+            }
+            listCaches.forEach(ClassListCache::invalidate);
+            classNameIndex.evictMissing();
+        }
+        messagingService.notifyClassesImported(response);
+        response.setElapsedMs(System.currentTimeMillis() - start);
+        return response;
+    }
+
+    private long copy(PGConnection connection, InputStream in, Format format, Rejects rejects) throws SQLException {
+        CopyIn copyIn = connection.getCopyAPI().copyIn(COPY_STAGING);
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            StringBuilder buffer = new StringBuilder(COPY_BUFFER_SIZE + 1024);
+            int nameColumn = 0;
+            long lineNo = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                String name;
+                if (format == Format.CSV) {
+                    List<String> fields = parseCsvLine(line);
+                    if (fields == null) {
+                        rejects.add(lineNo, "Unterminated quoted field");
+                        continue;
+                    }
+                    if (lineNo == 1 && fields.stream().anyMatch("name"::equalsIgnoreCase)) {
+                        // Header row: take names from the "name" column
+                        nameColumn = fields.stream().map(String::toLowerCase).toList().indexOf("name");
+                        continue;
+                    }
+                    name = nameColumn < fields.size() ? fields.get(nameColumn) : null;
+                } else {
+                    try {
+                        JsonNode node = objectMapper.readTree(line).path("name");
+                        name = node.isTextual() ? node.asText() : null;
+                    } catch (JsonProcessingException e) {
+                        rejects.add(lineNo, "Malformed JSON");
+                        continue;
+                    }
+                }
+
+                String reason = validate(name);
+                if (reason != null) {
+                    rejects.add(lineNo, reason);
+                    continue;
+                }
+                buffer.append(lineNo).append(",\"").append(name.replace("\"", "\"\"")).append("\"\n");
+                if (buffer.length() >= COPY_BUFFER_SIZE) {
+                    write(copyIn, buffer);
+                }
+            }
+            write(copyIn, buffer);
+            return copyIn.endCopy();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private static void write(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    private static String validate(String name) {
+        if (name == null || name.isBlank()) {
+            return "Missing name";
+        }
+        if (name.length() > MAX_NAME_LENGTH) {
+            return "Name longer than " + MAX_NAME_LENGTH + " characters";
+        }
+        if (name.indexOf('\0') >= 0) {
+            return "Name contains a NUL character";
+        }
+        return null;
+    }
+
+    /**
+     * Splits one CSV line (RFC 4180 quoting, no line breaks inside fields).
+     *
+     * @return the fields, or null if a quoted field isn't closed
+     */
+    private static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Streams the imported id range from a cursor and caches it chunk by chunk in every region.
+     *
+     * @return the number of entries written, summed over the regions
+     */
+    private long warmCaches(int firstId, int lastId) {
+        List<ClassResponse> chunk = new ArrayList<>(WARM_CHUNK_SIZE);
+        long[] warmed = {0};
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(SELECT_RANGE, ps -> {
+            ps.setFetchSize(1000);
+            ps.setInt(1, firstId);
+            ps.setInt(2, lastId);
+        }, rs -> {
+            chunk.add(ClassResponse.builder()
+                    .id(rs.getInt(1))
+                    .name(rs.getString(2))
+                    .version(rs.getLong(3))
+                    .build());
+            if (chunk.size() == WARM_CHUNK_SIZE) {
+                warmed[0] += putAll(chunk);
+            }
+        }));
+        return warmed[0] + putAll(chunk);
+    }
+
+    private long putAll(List<ClassResponse> chunk) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        long written = 0;
+        for (ClassCache cache : caches) {
+            written += cache.putAll(chunk);
+        }
+        chunk.clear();
+        return written;
+    }
+
+    private static class Rejects {
+        private long count;
+        private final List<ClassImportResponse.Reject> samples = new ArrayList<>();
+
+        void add(long line, String reason) {
+            count++;
+            if (samples.size() < MAX_REPORTED_REJECTS) {
+                samples.add(new ClassImportResponse.Reject(line, reason));
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.demo.service.impl;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.example.demo.dto.response.ClassResponse;
+import com.example.demo.service.ClassReactiveService;
+import com.example.demo.service.ClassService;
+import com.example.demo.service.ReactiveRedisService;
+import com.example.demo.service.cache.ClassCache;
+import com.example.demo.service.cache.ClassCacheEntry;
+import com.example.demo.service.cache.ClassListCache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ClassReactiveServiceImpl implements ClassReactiveService {
+    private final ReactiveRedisService reactiveRedisService;
+    private final ClassCache classCache;
+    private final ClassListCache classListCache;
+    private final ClassService classService;
+
+    @Override
+    public Mono<List<ClassResponse>> getAllClasses() {
+        log.info("REACTIVE - Fetching all classes");
+
+        // The cached list hash is read on the event loop; only a missing hash hops to a worker, where
+        // ClassService rebuilds it from the database
+        return reactiveRedisService.hashGetAll(classListCache.key())
+                .filter(hash -> !hash.isEmpty())
+                .map(hash -> classListCache.snapshot(hash).getClasses())
+                .switchIfEmpty(Mono.fromCallable(classService::getAllClasses)
+                        .subscribeOn(Schedulers.boundedElastic()));
+    }
+
+    @Override
+    public Mono<ClassResponse> getClassById(Integer id) {
+        log.info("REACTIVE - Fetching class with id: {}", id);
+
+        // Cache hits (including remembered misses) complete on the Lettuce event loop; only misses hop to a worker
+        // for the blocking JPA load, which goes through ClassService so it shares single-flight loading and caching
+        if (!classCache.mightExist(id)) {
+            return Mono.error(notFound(id));
+        }
+        return reactiveRedisService.get(classCache.key(id), ClassCacheEntry.class)
+                .flatMap(entry -> entry.getValue() != null ? Mono.just(entry.getValue()) : Mono.error(notFound(id)))
+                .switchIfEmpty(Mono.fromCallable(() -> classService.getClassById(id))
+                        .subscribeOn(Schedulers.boundedElastic()));
+    }
+
+    private RuntimeException notFound(Integer id) {
+        return new RuntimeException("Class not found with id: " + id);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.demo.service.impl;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.configuration.properties.SearchProperties;
+import com.example.demo.dto.response.ClassResponse;
+import com.example.demo.dto.response.ClassSearchResponse;
+import com.example.demo.repository.ClassRepository;
+import com.example.demo.service.ClassSearchService;
+import com.example.demo.service.search.ClassSearchIndex;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ClassSearchServiceImpl implements ClassSearchService {
+
+    private final ClassRepository classRepository;
+    private final ClassSearchIndex classSearchIndex;
+    private final SearchProperties properties;
+
+    @Override
+    @Transactional(readOnly = true)
+    public ClassSearchResponse search(String query, Mode mode, int offset, int limit) {
+        log.debug("Searching classes: {} '{}' (offset {}, limit {})", mode, query, offset, limit);
+
+        // The in-memory index answers once built; until then searches go to PostgreSQL
+        boolean inMemory = properties.getEngine() == SearchProperties.Engine.MEMORY && classSearchIndex.isReady();
+
+        // One extra row tells whether another page follows
+        List<ClassResponse> items;
+        if (mode == Mode.PREFIX) {
+            items = inMemory
+                    ? classSearchIndex.prefix(query, offset, limit + 1)
+                    : classRepository.searchByNamePrefix(query, offset, limit + 1);
+        } else {
+            items = inMemory
+                    ? classSearchIndex.fuzzy(query, offset, limit + 1)
+                    : classRepository.searchByNameSimilarity(query, offset, limit + 1);
+        }
+
+        boolean hasMore = items.size() > limit;
+        if (hasMore) {
+            items = items.subList(0, limit);
+        }
+        return ClassSearchResponse.builder()
+                .items(items)
+                .nextOffset(hasMore ? offset + limit : null)
+                .hasMore(hasMore)
+                .engine(inMemory ? "memory" : "postgres")
+                .build();
+    }
+}
@@ -1,173 +1,358 @@
-package com.example.demo.service.impl;
-
-import java.util.List;
-
-import org.springframework.stereotype.Service;
-
-import com.example.demo.dto.request.ClassRequest;
-import com.example.demo.dto.response.ClassResponse;
-import com.example.demo.entity.ClassEntity;
-import com.example.demo.mapper.request.ClassRequestMapper;
-import com.example.demo.mapper.response.ClassResponseMapper;
-import com.example.demo.repository.ClassRepository;
-import com.example.demo.service.ClassService;
-import com.example.demo.service.RedisService;
-import com.example.demo.service.messaging.ClassMessagingService;
-
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
-
-@Service
-@RequiredArgsConstructor
-@Slf4j
-public class ClassServiceImpl implements ClassService {
-    private final ClassRepository classRepository;
-    private final ClassRequestMapper requestMapper;
-    private final ClassResponseMapper responseMapper;
-    private final RedisService redisService;
-    private final ClassMessagingService messagingService;
-    
-    @Override
-    public ClassResponse createClass(ClassRequest request) {
-        try {
-            log.info("Creating new class with name: {}", request.getName());
-            
-            // Convert DTO to Entity
-            ClassEntity entity = requestMapper.toEntity(request);
-            
-            // Save to database
-            ClassEntity savedEntity = classRepository.save(entity);
-            log.info("Class created successfully with id: {}", savedEntity.getId());
-            
-            // Convert to response DTO
-            ClassResponse response = responseMapper.toDto(savedEntity);
-            
-            // Cache the new class
-            String cacheKey = "class:" + savedEntity.getId();
-            redisService.set(cacheKey, response);
-            
-            // Send RabbitMQ message
-            messagingService.notifyClassCreated(savedEntity.getId(), savedEntity.getName());
-            log.info("Class creation notification sent to RabbitMQ for id: {}", savedEntity.getId());
-            
-            return response;
-            
-        } catch (Exception e) {
-            log.error("Error creating class with name: {}: {}", request.getName(), e.getMessage(), e);
-            messagingService.notifyClassOperationFailed(null, request.getName(), "CREATE", e.getMessage());
-            throw new RuntimeException("Failed to create class", e);
-        }
-    }
-    
-    @Override
-    public List<ClassResponse> getAllClasses() {
-        try {
-            log.info("Fetching all classes");
-            List<ClassResponse> classes = responseMapper.toListDto(classRepository.findAll());
-            log.info("Successfully fetched {} classes", classes.size());
-            return classes;
-        } catch (Exception e) {
-            log.error("Error fetching all classes: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to fetch classes", e);
-        }
-    }
-
-    @Override
-    public ClassResponse getClassById(Integer id) {
-        try {
-            log.info("Fetching class with id: {}", id);
-            
-            // Check cache first
-            String cacheKey = "class:" + id;
-            ClassResponse cachedClass = redisService.get(cacheKey, ClassResponse.class);
-            if (cachedClass != null) {
-                log.info("Cache hit for class with id: {}", id);
-                return cachedClass;
-            }
-
-            // Fetch from database
-            ClassEntity classEntity = classRepository.findById(id)
-                    .orElseThrow(() -> new RuntimeException("Class not found with id: " + id));
-            
-            ClassResponse response = responseMapper.toDto(classEntity);
-            
-            // Cache the result
-            redisService.set(cacheKey, response);
-            log.info("Class with id: {} cached successfully", id);
-            
-            return response;
-            
-        } catch (Exception e) {
-            log.error("Error fetching class with id: {}: {}", id, e.getMessage(), e);
-            throw e;
-        }
-    }
-    
-    @Override
-    public ClassResponse updateClass(Integer id, ClassRequest request) {
-        try {
-            log.info("Updating class with id: {}", id);
-            
-            // Check if class exists
-            ClassEntity existingEntity = classRepository.findById(id)
-                    .orElseThrow(() -> new RuntimeException("Class not found with id: " + id));
-            
-            // Update the entity using mapper
-            requestMapper.update(existingEntity, request);
-            
-            // Save updated entity
-            ClassEntity updatedEntity = classRepository.save(existingEntity);
-            log.info("Class updated successfully with id: {}", updatedEntity.getId());
-            
-            // Convert to response DTO
-            ClassResponse response = responseMapper.toDto(updatedEntity);
-            
-            // Update cache
-            String cacheKey = "class:" + id;
-            redisService.set(cacheKey, response);
-            
-            // Send RabbitMQ message
-            messagingService.notifyClassUpdated(updatedEntity.getId(), updatedEntity.getName());
-            log.info("Class update notification sent to RabbitMQ for id: {}", updatedEntity.getId());
-            
-            return response;
-            
-        } catch (Exception e) {
-            log.error("Error updating class with id: {}: {}", id, e.getMessage(), e);
-            messagingService.notifyClassOperationFailed(id, request.getName(), "UPDATE", e.getMessage());
-            throw e;
-        }
-    }
-    
-    @Override
-    public void deleteClass(Integer id) {
-        try {
-            log.info("Deleting class with id: {}", id);
-            
-            // Check if class exists
-            ClassEntity existingEntity = classRepository.findById(id)
-                    .orElseThrow(() -> new RuntimeException("Class not found with id: " + id));
-            
-            String className = existingEntity.getName();
-            
-            // Delete from database
-            classRepository.deleteById(id);
-            log.info("Class deleted successfully with id: {}", id);
-            
-            // Remove from cache
-            String cacheKey = "class:" + id;
-            redisService.del(cacheKey);
-            
-            // Send RabbitMQ message
-            messagingService.notifyClassDeleted(id, className);
-            log.info("Class deletion notification sent to RabbitMQ for id: {}", id);
-            
-        } catch (Exception e) {
-            log.error("Error deleting class with id: {}: {}", id, e.getMessage(), e);
-            messagingService.notifyClassOperationFailed(id, null, "DELETE", e.getMessage());
-            throw e;
-        }
-    }
-    
-    
-}
+package com.example.demo.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.dto.request.ClassBulkUpdateRequest;
+import com.example.demo.dto.request.ClassRequest;
+import com.example.demo.dto.response.ClassPageResponse;
+import com.example.demo.dto.response.ClassResponse;
+import com.example.demo.entity.ClassEntity;
+import com.example.demo.mapper.request.ClassRequestMapper;
+import com.example.demo.mapper.response.ClassResponseMapper;
+import com.example.demo.repository.ClassRepository;
+import com.example.demo.service.ClassService;
+import com.example.demo.service.cache.ClassCache;
+import com.example.demo.service.cache.ClassListCache;
+import com.example.demo.service.cache.ClassListSnapshot;
+import com.example.demo.service.cache.ClassNameIndex;
+import com.example.demo.service.messaging.ClassMessagingService;
+import com.example.demo.service.messaging.ClassPersistencePublisher;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ClassServiceImpl implements ClassService {
+    private final ClassRepository classRepository;
+    private final ClassRequestMapper requestMapper;
+    private final ClassResponseMapper responseMapper;
+    private final ClassCache classCache;
+    private final ClassListCache classListCache;
+    private final ClassNameIndex classNameIndex;
+    private final ClassMessagingService messagingService;
+    private final ClassPersistencePublisher persistencePublisher;
+    private final TransactionTemplate transactionTemplate;
+    
+    @Override
+    public ClassResponse createClass(ClassRequest request) {
+        try {
+            log.info("Creating new class with name: {}", request.getName());
+            
+            // Convert DTO to Entity
+            ClassEntity entity = requestMapper.toEntity(request);
+            
+            // Save to database
+            ClassEntity savedEntity = classRepository.save(entity);
+            log.info("Class created successfully with id: {}", savedEntity.getId());
+            
+            // Convert to response DTO
+            ClassResponse response = responseMapper.toDto(savedEntity);
+            
+            // Cache the new class; a cached "no such name" would now be wrong
+            classCache.put(response);
+            classNameIndex.evict(response.getName());
+            
+            // Send RabbitMQ message
+            messagingService.notifyClassCreated(savedEntity.getId(), savedEntity.getName());
+            log.info("Class creation notification sent to RabbitMQ for id: {}", savedEntity.getId());
+            
+            return response;
+            
+        } catch (Exception e) {
+            log.error("Error creating class with name: {}: {}", request.getName(), e.getMessage(), e);
+            messagingService.notifyClassOperationFailed(null, request.getName(), "CREATE", e.getMessage());
+            throw new RuntimeException("Failed to create class", e);
+        }
+    }
+    
+    /**
+     * Inserts all classes in one transaction: ids come from the pooled sequence, so Hibernate sends the
+     * inserts as JDBC batches. The whole batch is cached in one pipeline and announced with one event.
+     */
+    @Override
+    public List<ClassResponse> createClasses(List<ClassRequest> requests) {
+        try {
+            log.info("Creating {} classes", requests.size());
+            
+            List<ClassEntity> entities = requests.stream().map(requestMapper::toEntity).toList();
+            List<ClassEntity> savedEntities = transactionTemplate.execute(status -> classRepository.saveAll(entities));
+            List<ClassResponse> responses = responseMapper.toListDto(savedEntities);
+            log.info("Created {} classes", responses.size());
+            
+            classCache.putAll(responses);
+            classNameIndex.evictAll(names(responses));
+            messagingService.notifyClassesChanged(ids(responses), "BULK_CREATE");
+            
+            return responses;
+            
+        } catch (Exception e) {
+            log.error("Error creating {} classes: {}", requests.size(), e.getMessage(), e);
+            messagingService.notifyClassOperationFailed(null, null, "BULK_CREATE", e.getMessage());
+            throw new RuntimeException("Failed to create classes", e);
+        }
+    }
+    
+    @Override
+    public List<ClassResponse> getAllClasses() {
+        try {
+            return getClassList().getClasses();
+        } catch (Exception e) {
+            log.error("Error fetching all classes: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to fetch classes", e);
+        }
+    }
+    
+    @Override
+    public ClassListSnapshot getClassList() {
+        log.info("Fetching all classes");
+        
+        // Cached list, kept up to date from class events; built from the database when missing
+        ClassListSnapshot snapshot = classListCache.getOrLoad(() -> {
+            log.info("Loading class list from database");
+            return classRepository.findAllProjected();
+        });
+        log.info("Successfully fetched {} classes (version {})", snapshot.getClasses().size(), snapshot.getVersion());
+        return snapshot;
+    }
+    
+    @Override
+    public Long getClassListVersion() {
+        return classListCache.version();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ClassPageResponse getClassPage(Integer after, int limit) {
+        log.info("Fetching classes after id: {} (limit {})", after, limit);
+        
+        // One extra row tells whether another page follows
+        List<ClassResponse> items = classRepository.findPageProjected(after != null ? after : 0, limit + 1);
+        boolean hasMore = items.size() > limit;
+        if (hasMore) {
+            items = items.subList(0, limit);
+        }
+        return ClassPageResponse.builder()
+                .items(items)
+                .nextAfter(items.isEmpty() ? null : items.get(items.size() - 1).getId())
+                .hasMore(hasMore)
+                .build();
+    }
+    
+    @Override
+    public ClassResponse getClassById(Integer id) {
+        try {
+            log.info("Fetching class with id: {}", id);
+            
+            // Check cache first; concurrent misses for the same id share one database load
+            return findCachedById(id)
+                    .orElseThrow(() -> new RuntimeException("Class not found with id: " + id));
+            
+        } catch (Exception e) {
+            log.error("Error fetching class with id: {}: {}", id, e.getMessage(), e);
+            throw e;
+        }
+    }
+    
+    @Override
+    public ClassResponse getClassByName(String name) {
+        try {
+            log.info("Fetching class with name: {}", name);
+            
+            // Name -> id from the cache, then the class itself through the id cache
+            return classNameIndex.getOrLoad(name, this::findCachedById, () -> {
+                        log.info("Loading class with name: {} from database", name);
+                        return classRepository.findProjectedByName(name);
+                    })
+                    .orElseThrow(() -> new RuntimeException("Class not found with name: " + name));
+            
+        } catch (Exception e) {
+            log.error("Error fetching class with name: {}: {}", name, e.getMessage(), e);
+            throw e;
+        }
+    }
+    
+    @Override
+    public Long getClassVersion(Integer id) {
+        return classCache.version(id);
+    }
+    
+    private Optional<ClassResponse> findCachedById(Integer id) {
+        return classCache.getOrLoad(id, () -> {
+            log.info("Loading class with id: {} from database", id);
+            return classRepository.findProjectedById(id);
+        });
+    }
+    
+    @Override
+    public ClassResponse updateClass(Integer id, ClassRequest request) {
+        try {
+            log.info("Updating class with id: {}", id);
+            
+            if (persistencePublisher.accepts(id)) {
+                return updateClassWriteBehind(id, request);
+            }
+            
+            // One UPDATE ... RETURNING; no row means the class doesn't exist
+            ClassEntity updatedEntity = classRepository.updateNameReturning(id, request.getName())
+                    .orElseThrow(() -> new RuntimeException("Class not found with id: " + id));
+            log.info("Class updated successfully with id: {}", updatedEntity.getId());
+            
+            // Convert to response DTO
+            ClassResponse response = responseMapper.toDto(updatedEntity);
+            
+            // Update cache; the new name may now resolve to this class
+            classCache.put(response);
+            classNameIndex.evict(response.getName());
+            
+            // Send RabbitMQ message
+            messagingService.notifyClassUpdated(updatedEntity.getId(), updatedEntity.getName());
+            log.info("Class update notification sent to RabbitMQ for id: {}", updatedEntity.getId());
+            
+            return response;
+            
+        } catch (Exception e) {
+            log.error("Error updating class with id: {}: {}", id, e.getMessage(), e);
+            messagingService.notifyClassOperationFailed(id, request.getName(), "UPDATE", e.getMessage());
+            throw e;
+        }
+    }
+    
+    /**
+     * Write-behind update: the new state goes to Redis right away and the database write is queued.
+     */
+    private ClassResponse updateClassWriteBehind(Integer id, ClassRequest request) {
+        ClassResponse existing = getClassById(id);
+        // The row gets this version when the write is flushed
+        ClassResponse response = ClassResponse.builder()
+                .id(existing.getId())
+                .name(request.getName())
+                .version(persistencePublisher.reserveVersion(id, existing.getVersion()))
+                .build();
+        
+        classCache.put(response);
+        classNameIndex.evict(response.getName());
+        persistencePublisher.enqueue(id, response.getName(), response.getVersion());
+        log.info("Class update with id: {} accepted, database write queued", id);
+        
+        messagingService.notifyClassUpdated(id, response.getName());
+        return response;
+    }
+    
+    /**
+     * Loads all rows with one query and lets Hibernate flush the changes as batched, ordered updates.
+     * Nothing is written if any id doesn't exist.
+     */
+    @Override
+    public List<ClassResponse> updateClasses(List<ClassBulkUpdateRequest> requests) {
+        try {
+            log.info("Updating {} classes", requests.size());
+            
+            // A queued write-behind update of any of them would overwrite this one when flushed
+            persistencePublisher.awaitPersisted(requests.stream().map(ClassBulkUpdateRequest::getId).toList());
+            
+            List<ClassEntity> updatedEntities = transactionTemplate.execute(status -> {
+                Map<Integer, ClassEntity> existing = classRepository.findAllById(
+                        requests.stream().map(ClassBulkUpdateRequest::getId).toList())
+                        .stream()
+                        .collect(Collectors.toMap(ClassEntity::getId, Function.identity()));
+                
+                List<ClassEntity> entities = new ArrayList<>(requests.size());
+                for (ClassBulkUpdateRequest request : requests) {
+                    ClassEntity entity = existing.get(request.getId());
+                    if (entity == null) {
+                        throw new RuntimeException("Class not found with id: " + request.getId());
+                    }
+                    entity.setName(request.getName());
+                    entities.add(entity);
+                }
+                // Flush here so the returned entities carry their new versions
+                classRepository.flush();
+                return entities;
+            });
+            List<ClassResponse> responses = responseMapper.toListDto(updatedEntities);
+            log.info("Updated {} classes", responses.size());
+            
+            classCache.putAll(responses);
+            classNameIndex.evictAll(names(responses));
+            messagingService.notifyClassesChanged(ids(responses), "BULK_UPDATE");
+            
+            return responses;
+            
+        } catch (Exception e) {
+            log.error("Error updating {} classes: {}", requests.size(), e.getMessage(), e);
+            messagingService.notifyClassOperationFailed(null, null, "BULK_UPDATE", e.getMessage());
+            throw e;
+        }
+    }
+    
+    @Override
+    public void deleteClass(Integer id) {
+        try {
+            log.info("Deleting class with id: {}", id);
+            
+            // One DELETE ... RETURNING; no row means the class doesn't exist
+            ClassEntity deletedEntity = classRepository.deleteReturning(id)
+                    .orElseThrow(() -> new RuntimeException("Class not found with id: " + id));
+            
+            String className = deletedEntity.getName();
+            log.info("Class deleted successfully with id: {}", id);
+            
+            // Remove from cache
+            classCache.markDeleted(id);
+            
+            // Send RabbitMQ message
+            messagingService.notifyClassDeleted(id, className);
+            log.info("Class deletion notification sent to RabbitMQ for id: {}", id);
+            
+        } catch (Exception e) {
+            log.error("Error deleting class with id: {}: {}", id, e.getMessage(), e);
+            messagingService.notifyClassOperationFailed(id, null, "DELETE", e.getMessage());
+            throw e;
+        }
+    }
+    
+    /**
+     * Deletes all given ids with a single statement; ids that don't exist are ignored.
+     *
+     * @return the number of rows deleted
+     */
+    @Override
+    public int deleteClasses(List<Integer> ids) {
+        try {
+            log.info("Deleting {} classes", ids.size());
+            
+            Integer deleted = transactionTemplate.execute(status -> classRepository.deleteByIds(ids));
+            log.info("Deleted {} of {} classes", deleted, ids.size());
+            
+            classCache.markAllDeleted(ids);
+            messagingService.notifyClassesChanged(ids, "BULK_DELETE");
+            
+            return deleted;
+            
+        } catch (Exception e) {
+            log.error("Error deleting {} classes: {}", ids.size(), e.getMessage(), e);
+            messagingService.notifyClassOperationFailed(null, null, "BULK_DELETE", e.getMessage());
+            throw e;
+        }
+    }
+    
+    private static List<Integer> ids(List<ClassResponse> responses) {
+        return responses.stream().map(ClassResponse::getId).toList();
+    }
+    
+    private static List<String> names(List<ClassResponse> responses) {
+        return responses.stream().map(ClassResponse::getName).toList();
+    }
+    
+}
@@ -0,0 +1,150 @@
+package com.example.demo.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.configuration.datasource.ReadYourWrites;
+import com.example.demo.dto.response.ClassResponse;
+import com.example.demo.dto.response.ClassRosterResponse;
+import com.example.demo.dto.response.StudentResponse;
+import com.example.demo.entity.EnrollmentEntity;
+import com.example.demo.mapper.response.ClassResponseMapper;
+import com.example.demo.mapper.response.StudentResponseMapper;
+import com.example.demo.repository.EnrollmentRepository;
+import com.example.demo.repository.StudentRepository;
+import com.example.demo.service.ClassService;
+import com.example.demo.service.EnrollmentService;
+import com.example.demo.service.cache.RosterCache;
+import com.example.demo.service.messaging.ClassMessagingService;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class EnrollmentServiceImpl implements EnrollmentService {
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final StudentRepository studentRepository;
+    private final ClassService classService;
+    private final StudentResponseMapper studentResponseMapper;
+    private final ClassResponseMapper classResponseMapper;
+    private final RosterCache rosterCache;
+    private final ClassMessagingService messagingService;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public EnrollmentServiceImpl(EnrollmentRepository enrollmentRepository, StudentRepository studentRepository,
+                                 ClassService classService, StudentResponseMapper studentResponseMapper,
+                                 ClassResponseMapper classResponseMapper, RosterCache rosterCache,
+                                 ClassMessagingService messagingService, PlatformTransactionManager transactionManager) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.studentRepository = studentRepository;
+        this.classService = classService;
+        this.studentResponseMapper = studentResponseMapper;
+        this.classResponseMapper = classResponseMapper;
+        this.rosterCache = rosterCache;
+        this.messagingService = messagingService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * One page of the class's students after student id {@code after}, from the roster cache. The class itself is
+     * checked through the class cache, so unknown classes are rejected without touching the roster.
+     */
+    @Override
+    public ClassRosterResponse getRoster(Integer classId, Integer after, int limit) {
+        log.info("Fetching roster of class {} after student id: {} (limit {})", classId, after, limit);
+        
+        classService.getClassById(classId);
+        int from = after != null ? after : 0;
+        return rosterCache.getOrLoad(classId, from, limit, () -> loadRoster(classId, from, limit));
+    }
+
+    private ClassRosterResponse loadRoster(int classId, int after, int limit) {
+        log.info("Loading roster of class {} after student id: {} from database", classId, after);
+        
+        // Pages are cached under the version read before loading; a lagging replica could fill it with a roster
+        // from before the change that bumped the version, so cache fills read from the primary
+        List<StudentResponse> students = ReadYourWrites.onPrimary(() -> readOnlyTransaction.execute(status ->
+                studentResponseMapper.toListDto(enrollmentRepository.findRosterPage(classId, after, Limit.of(limit + 1))
+                        .stream()
+                        .map(EnrollmentEntity::getStudent)
+                        .toList())));
+        
+        // One extra row tells whether another page follows; copied so the cached page is a plain list
+        boolean hasMore = students.size() > limit;
+        List<StudentResponse> items = new ArrayList<>(hasMore ? students.subList(0, limit) : students);
+        return ClassRosterResponse.builder()
+                .classId(classId)
+                .items(items)
+                .nextAfter(items.isEmpty() ? null : items.get(items.size() - 1).getId())
+                .hasMore(hasMore)
+                .build();
+    }
+
+    @Override
+    public List<ClassResponse> getStudentClasses(int studentId) {
+        log.info("Fetching classes of student {}", studentId);
+        
+        return readOnlyTransaction.execute(status -> {
+            List<EnrollmentEntity> enrollments = enrollmentRepository.findByStudentId(studentId);
+            if (enrollments.isEmpty() && !studentRepository.existsById(studentId)) {
+                throw new RuntimeException("Student not found with id: " + studentId);
+            }
+            return classResponseMapper.toListDto(enrollments.stream().map(EnrollmentEntity::getClassEntity).toList());
+        });
+    }
+
+    /**
+     * @return true if the student was enrolled now, false if already enrolled
+     */
+    @Override
+    public boolean enrollStudent(Integer classId, int studentId) {
+        if (enrollStudents(classId, List.of(studentId)) > 0) {
+            return true;
+        }
+        if (!studentRepository.existsById(studentId)) {
+            throw new RuntimeException("Student not found with id: " + studentId);
+        }
+        return false;
+    }
+
+    /**
+     * Enrols the students in one statement; unknown and already enrolled students are skipped.
+     * One ENROLL event is published when anything changed.
+     *
+     * @return the number of students enrolled
+     */
+    @Override
+    public int enrollStudents(Integer classId, List<Integer> studentIds) {
+        classService.getClassById(classId);
+        List<Integer> ids = studentIds.stream().distinct().toList();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        
+        int enrolled = transactionTemplate.execute(status -> enrollmentRepository.enroll(classId, ids));
+        log.info("Enrolled {} of {} students in class {}", enrolled, ids.size(), classId);
+        if (enrolled > 0) {
+            messagingService.notifyEnrollmentChanged(classId, ids, "ENROLL");
+        }
+        return enrolled;
+    }
+
+    @Override
+    public void unenrollStudent(Integer classId, int studentId) {
+        int removed = transactionTemplate.execute(status -> enrollmentRepository.unenroll(classId, studentId));
+        if (removed == 0) {
+            throw new RuntimeException("Enrollment not found for student id: " + studentId + " in class id: " + classId);
+        }
+        log.info("Removed student {} from class {}", studentId, classId);
+        messagingService.notifyEnrollmentChanged(classId, List.of(studentId), "UNENROLL");
+    }
+}
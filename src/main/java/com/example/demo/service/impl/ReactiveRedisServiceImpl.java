@@ -0,0 +1,53 @@
+package com.example.demo.service.impl;
+
+import java.util.Map;
+
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.service.ReactiveRedisService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@Service
+@RequiredArgsConstructor
+public class ReactiveRedisServiceImpl implements ReactiveRedisService {
+    private final ReactiveRedisTemplate<String, Object> reactiveRedisTemplate;
+
+    /**
+     * Retrieves the value associated with the specified key from Redis.
+     *
+     * @param key the key to retrieve the value for
+     * @return a Mono emitting the value, or empty if the key does not exist
+     */
+    @Override
+    public Mono<Object> get(String key) {
+        return reactiveRedisTemplate.opsForValue().get(key);
+    }
+
+    /**
+     * Retrieves the value associated with the specified key from Redis if it is of the specified class.
+     *
+     * @param key   the key to retrieve the value for
+     * @param clazz the expected class of the value
+     * @param <T>   the type of the value
+     * @return a Mono emitting the value, or empty if the key does not exist or holds another type
+     */
+    @Override
+    public <T> Mono<T> get(String key, Class<T> clazz) {
+        return get(key).ofType(clazz);
+    }
+
+    /**
+     * Retrieves all fields and values of the hash stored at the specified key.
+     *
+     * @param key the key of the hash
+     * @return a Mono emitting the fields and values, empty if the key does not exist
+     */
+    @Override
+    public Mono<Map<Object, Object>> hashGetAll(String key) {
+        return reactiveRedisTemplate.opsForHash().entries(key)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+}
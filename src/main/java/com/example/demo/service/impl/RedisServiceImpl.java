@@ -1,185 +1,573 @@
-package com.example.demo.service.impl;
-
-import com.example.demo.service.RedisService;
-import lombok.AllArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.stereotype.Service;
-
-import java.time.Duration;
-import java.util.Collection;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
-
-@Service
-@Slf4j
-@AllArgsConstructor
-public class RedisServiceImpl implements RedisService {
-    private final RedisTemplate<String, Object> redisTemplate;
-
-    /**
-     * Sets the specified value to the specified key in Redis.
-     *
-     * @param key   the key to set the value for
-     * @param value the value to be set
-     */
-    @Override
-    public void set(String key, Object value) {
-        redisTemplate.opsForValue().set(key, value);
-    }
-
-    /**
-     * Sets the specified value to the specified key in Redis with an expiration time.
-     *
-     * @param key     the key to set the value for
-     * @param value   the value to be set
-     * @param timeout the duration after which the key will expire
-     */
-    @Override
-    public void set(String key, Object value, Duration timeout) {
-        redisTemplate.opsForValue().set(key, value, timeout);
-    }
-
-    /**
-     * Retrieves the value associated with the specified key from Redis.
-     *
-     * @param key the key to retrieve the value for
-     * @return the value associated with the key, or null if the key does not exist
-     */
-    @Override
-    public Object get(String key) {
-        return redisTemplate.opsForValue().get(key);
-    }
-
-    /**
-     * Retrieves the value associated with the specified key from Redis and casts it to the specified class.
-     * <p>
-     * Note: This method assumes that the value can be cast to the specified class. If not, a {@link ClassCastException} will be thrown.
-     *
-     * @param key   the key to retrieve the value for
-     * @param clazz the class to cast the value to
-     * @param <T>   the type of the value
-     * @return the value associated with the key cast to the specified class, or null if the key does not exist
-     */
-    @Override
-    public <T> T get(String key, Class<T> clazz) {
-        Object value = redisTemplate.opsForValue().get(key);
-        return value != null ? (T) value : null;
-    }
-
-    /**
-     * Deletes the specified key from Redis.
-     *
-     * @param key the key to delete
-     */
-    @Override
-    public void del(String key) {
-        redisTemplate.delete(key);
-    }
-
-    /**
-     * Checks if the specified key exists in Redis.
-     *
-     * @param key the key to check
-     * @return true if the key exists, false otherwise
-     */
-    @Override
-    public boolean hasKey(String key) {
-        return Boolean.TRUE.equals(redisTemplate.hasKey(key));
-    }
-
-    /**
-     * Sets an expiration time for the specified key in Redis.
-     *
-     * @param key     the key to set the expiration for
-     * @param timeout the duration after which the key will expire
-     */
-    @Override
-    public void expire(String key, Duration timeout) {
-        redisTemplate.expire(key, timeout);
-    }
-
-    /**
-     * Adds the specified value to the end of the list stored at the specified key in Redis.
-     *
-     * @param key   the key of the list
-     * @param value the value to add to the list
-     */
-    @Override
-    public void listPush(String key, Object value) {
-        redisTemplate.opsForList().rightPush(key, value);
-    }
-
-    /**
-     * Adds the specified values to the end of the list stored at the specified key in Redis.
-     *
-     * @param key    the key of the list
-     * @param values the collection of values to add to the list
-     */
-    @Override
-    public void listPushAll(String key, Collection<Object> values) {
-        redisTemplate.opsForList().rightPushAll(key, values);
-    }
-
-    /**
-     * Retrieves a range of elements from the list stored at the specified key in Redis.
-     *
-     * @param key   the key of the list
-     * @param start the starting index (inclusive)
-     * @param end   the ending index (inclusive)
-     * @return a list of elements in the specified range
-     */
-    @Override
-    public List<Object> listRange(String key, long start, long end) {
-        return redisTemplate.opsForList().range(key, start, end);
-    }
-
-    /**
-     * Sets the specified field to the specified value in the hash stored at the specified key in Redis.
-     *
-     * @param key   the key of the hash
-     * @param field the field to set
-     * @param value the value to set for the field
-     */
-    @Override
-    public void hashSet(String key, String field, Object value) {
-        redisTemplate.opsForHash().put(key, field, value);
-    }
-
-    /**
-     * Retrieves the value of the specified field from **field** from the hash stored at the specified key in Redis.
-     *
-     * @param key   the key of the hash
-     * @param field the field to retrieve
-     * @return the value of the field, or null if the field does not exist
-     */
-    @Override
-    public Object hashGet(String key, String field) {
-        return redisTemplate.opsForHash().get(key, field);
-    }
-
-    /**
-     * Retrieves all fields and values from the hash stored at the specified key in Redis.
-     *
-     * @param key the key of the hash
-     * @return a map containing all fields and their values in the hash
-     */
-    @Override
-    public Map<Object, Object> hashGetAll(String key) {
-        return redisTemplate.opsForHash().entries(key);
-    }
-
-    /**
-     * Deletes all keys matching the specified pattern from Redis.
-     *
-     * @param pattern the pattern to match keys against
-     */
-    @Override
-    public void deletePattern(String pattern) {
-        Set<String> keys = redisTemplate.keys(pattern);
-        if (keys != null && !keys.isEmpty()) {
-            redisTemplate.delete(keys);
-        }
-    }
+package com.example.demo.service.impl;
+
+import com.example.demo.service.RedisService;
+import com.example.demo.service.cache.RedisMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongPredicate;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class RedisServiceImpl implements RedisService {
+    private static final RedisScript<Long> DELETE_IF_EQUALS = RedisScript.of(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) else return 0 end",
+            Long.class);
+
+    // ARGV: value, version, ttl millis. Existing values that aren't JSON objects with a numeric version are replaced
+    private static final RedisScript<Long> SET_IF_NEWER = RedisScript.of(
+            "local current = redis.call('GET', KEYS[1]) "
+            + "if current then "
+            + "  local ok, decoded = pcall(cjson.decode, current) "
+            + "  if ok and type(decoded) == 'table' and tonumber(decoded['version']) "
+            + "      and tonumber(decoded['version']) > tonumber(ARGV[2]) then return 0 end "
+            + "end "
+            + "redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[3]) "
+            + "return 1",
+            Long.class);
+
+    // Field of a versioned hash holding the version its contents correspond to
+    private static final String VERSION_FIELD = "_version";
+
+    // Counters start at the current time, so versions stay unique if the counter itself is lost
+    private static final String INIT_COUNTER =
+            "if redis.call('EXISTS', KEYS[2]) == 0 then redis.call('SET', KEYS[2], ARGV[1]) end ";
+
+    // ARGV: now, field, value (empty to remove), value version (empty when removing). A value older than the field's
+    // current one is dropped, leaving hash and counter as they are
+    private static final RedisScript<Long> VERSIONED_HASH_UPDATE = RedisScript.of(INIT_COUNTER
+            + "if ARGV[4] ~= '' then "
+            + "  local current = redis.call('HGET', KEYS[1], ARGV[2]) "
+            + "  if current then "
+            + "    local ok, decoded = pcall(cjson.decode, current) "
+            + "    if ok and type(decoded) == 'table' and tonumber(decoded['version']) "
+            + "        and tonumber(decoded['version']) > tonumber(ARGV[4]) then "
+            + "      return tonumber(redis.call('GET', KEYS[2])) "
+            + "    end "
+            + "  end "
+            + "end "
+            + "local version = redis.call('INCR', KEYS[2]) "
+            + "if redis.call('EXISTS', KEYS[1]) == 1 then "
+            + "  if ARGV[3] == '' then redis.call('HDEL', KEYS[1], ARGV[2]) else redis.call('HSET', KEYS[1], ARGV[2], ARGV[3]) end "
+            + "  redis.call('HSET', KEYS[1], '" + VERSION_FIELD + "', version) "
+            + "end "
+            + "return version",
+            Long.class);
+
+    // ARGV: now, expected version, ttl millis, field1, value1, ...
+    private static final RedisScript<Long> VERSIONED_HASH_REPLACE = RedisScript.of(
+            "if (redis.call('GET', KEYS[2]) or '0') ~= ARGV[2] then return nil end "
+            + INIT_COUNTER
+            + "local version = redis.call('INCR', KEYS[2]) "
+            + "redis.call('DEL', KEYS[1]) "
+            + "for i = 4, #ARGV, 2 do redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1]) end "
+            + "redis.call('HSET', KEYS[1], '" + VERSION_FIELD + "', version) "
+            + "redis.call('PEXPIRE', KEYS[1], ARGV[3]) "
+            + "return version",
+            Long.class);
+
+    // ARGV: now
+    private static final RedisScript<Long> VERSIONED_HASH_INVALIDATE = RedisScript.of(INIT_COUNTER
+            + "local version = redis.call('INCR', KEYS[2]) "
+            + "redis.call('DEL', KEYS[1]) "
+            + "return version",
+            Long.class);
+
+    // ARGV: now, ttl millis
+    private static final RedisScript<Long> VERSION_COUNTER = RedisScript.of(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2]) end "
+            + "return tonumber(redis.call('GET', KEYS[1]))",
+            Long.class);
+
+    // ARGV: now, ttl millis
+    private static final RedisScript<Long> INCREMENT_VERSION_COUNTER = RedisScript.of(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then redis.call('SET', KEYS[1], ARGV[1]) end "
+            + "local version = redis.call('INCR', KEYS[1]) "
+            + "redis.call('PEXPIRE', KEYS[1], ARGV[2]) "
+            + "return version",
+            Long.class);
+
+    // ARGV: floor, ttl millis
+    private static final RedisScript<Long> INCREMENT_VERSION_COUNTER_FROM = RedisScript.of(
+            "local version = tonumber(redis.call('GET', KEYS[1]) or '0') "
+            + "if version < tonumber(ARGV[1]) then version = tonumber(ARGV[1]) end "
+            + "version = version + 1 "
+            + "redis.call('SET', KEYS[1], version, 'PX', ARGV[2]) "
+            + "return version",
+            Long.class);
+
+    private static final RedisSerializer<Long> LONG_RESULT = new GenericToStringSerializer<>(Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMetrics metrics;
+
+    @Value("${app.redis.scan-batch-size:500}")
+    private int scanBatchSize;
+
+    /**
+     * Sets the specified value to the specified key in Redis.
+     *
+     * @param key   the key to set the value for
+     * @param value the value to be set
+     */
+    @Override
+    public void set(String key, Object value) {
+        metrics.time("set", key, () -> redisTemplate.opsForValue().set(key, value));
+    }
+
+    /**
+     * Sets the specified value to the specified key in Redis with an expiration time.
+     *
+     * @param key     the key to set the value for
+     * @param value   the value to be set
+     * @param timeout the duration after which the key will expire
+     */
+    @Override
+    public void set(String key, Object value, Duration timeout) {
+        metrics.time("set", key, () -> redisTemplate.opsForValue().set(key, value, timeout));
+    }
+
+    /**
+     * Retrieves the value associated with the specified key from Redis.
+     *
+     * @param key the key to retrieve the value for
+     * @return the value associated with the key, or null if the key does not exist
+     */
+    @Override
+    public Object get(String key) {
+        return metrics.read("get", key, () -> redisTemplate.opsForValue().get(key));
+    }
+
+    /**
+     * Retrieves the value associated with the specified key from Redis and casts it to the specified class.
+     * <p>
+     * Note: This method assumes that the value can be cast to the specified class. If not, a {@link ClassCastException} will be thrown.
+     *
+     * @param key   the key to retrieve the value for
+     * @param clazz the class to cast the value to
+     * @param <T>   the type of the value
+     * @return the value associated with the key cast to the specified class, or null if the key does not exist
+     */
+    @Override
+    public <T> T get(String key, Class<T> clazz) {
+        Object value = metrics.read("get", key, () -> redisTemplate.opsForValue().get(key));
+        return value != null ? (T) value : null;
+    }
+
+    /**
+     * Deletes the specified key from Redis.
+     *
+     * @param key the key to delete
+     */
+    @Override
+    public void del(String key) {
+        metrics.time("del", key, () -> redisTemplate.delete(key));
+    }
+
+    /**
+     * Deletes all specified keys from Redis with a single DEL.
+     *
+     * @param keys the keys to delete
+     */
+    @Override
+    public void delAll(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        metrics.time("delAll", keys.iterator().next(), () -> redisTemplate.delete(keys));
+    }
+
+    /**
+     * Checks if the specified key exists in Redis.
+     *
+     * @param key the key to check
+     * @return true if the key exists, false otherwise
+     */
+    @Override
+    public boolean hasKey(String key) {
+        return Boolean.TRUE.equals(metrics.time("hasKey", key, () -> redisTemplate.hasKey(key)));
+    }
+
+    /**
+     * Counts how many of the specified keys exist, with a single EXISTS.
+     *
+     * @param keys the keys to check
+     * @return the number of existing keys
+     */
+    @Override
+    public long countExisting(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        Long count = metrics.time("countExisting", keys.iterator().next(), () -> redisTemplate.countExistingKeys(keys));
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Sets an expiration time for the specified key in Redis.
+     *
+     * @param key     the key to set the expiration for
+     * @param timeout the duration after which the key will expire
+     */
+    @Override
+    public void expire(String key, Duration timeout) {
+        metrics.time("expire", key, () -> redisTemplate.expire(key, timeout));
+    }
+
+    /**
+     * Sets the specified value only if the key does not exist yet (SET NX PX), e.g. to acquire a short-lived lock.
+     *
+     * @param key     the key to set the value for
+     * @param value   the value to be set
+     * @param timeout the duration after which the key will expire
+     * @return true if the value was set, false if the key already existed
+     */
+    @Override
+    public boolean setIfAbsent(String key, Object value, Duration timeout) {
+        return Boolean.TRUE.equals(metrics.time("setIfAbsent", key,
+                () -> redisTemplate.opsForValue().setIfAbsent(key, value, timeout)));
+    }
+
+    /**
+     * Atomically deletes the specified key only if it still holds the expected value, e.g. to release a lock owned by the caller.
+     *
+     * @param key      the key to delete
+     * @param expected the value the key must hold
+     * @return true if the key was deleted
+     */
+    @Override
+    public boolean deleteIfEquals(String key, Object expected) {
+        Long deleted = metrics.time("deleteIfEquals", key, () -> redisTemplate.execute(DELETE_IF_EQUALS, List.of(key), expected));
+        return deleted != null && deleted > 0;
+    }
+
+    /**
+     * Sets the value unless the key holds a value with a higher {@code version} (a JSON object with a numeric
+     * "version" field). Equal versions are overwritten, which refreshes the expiration.
+     *
+     * @param key     the key to set the value for
+     * @param value   the value to be set
+     * @param version the version of {@code value}
+     * @param timeout the duration after which the key will expire
+     * @return true if the value was set, false if the key holds a newer value
+     */
+    @Override
+    public boolean setIfNewer(String key, Object value, long version, Duration timeout) {
+        Long set = metrics.time("setIfNewer", key,
+                () -> redisTemplate.execute(SET_IF_NEWER, RedisSerializer.byteArray(), LONG_RESULT, List.of(key),
+                        valueSerializer().serialize(value), serialize(String.valueOf(version)),
+                        serialize(String.valueOf(timeout.toMillis()))));
+        return set != null && set > 0;
+    }
+
+    /**
+     * {@link #setIfNewer} for many keys in a single pipeline (one round trip).
+     *
+     * @param values    the keys and values to set
+     * @param versionOf the version of each value
+     * @param timeout   supplies the expiration of each key; called once per key so callers can add jitter
+     * @return the number of keys that were set
+     */
+    @Override
+    public long setAllIfNewer(Map<String, Object> values, ToLongFunction<Object> versionOf, Supplier<Duration> timeout) {
+        if (values.isEmpty()) {
+            return 0;
+        }
+        List<Object> results = metrics.time("setAllIfNewer", values.keySet().iterator().next(),
+                () -> redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    // Loading first makes the EVALSHAs below safe even right after a server restart
+                    connection.scriptingCommands().scriptLoad(serialize(SET_IF_NEWER.getScriptAsString()));
+                    values.forEach((key, value) -> connection.scriptingCommands().evalSha(SET_IF_NEWER.getSha1(),
+                            ReturnType.INTEGER, 1, serialize(key), valueSerializer().serialize(value),
+                            serialize(String.valueOf(versionOf.applyAsLong(value))),
+                            serialize(String.valueOf(timeout.get().toMillis()))));
+                    return null;
+                }, RedisSerializer.string()));
+        return results.stream().filter(Long.valueOf(1)::equals).count();
+    }
+
+    /**
+     * Adds the specified value to the end of the list stored at the specified key in Redis.
+     *
+     * @param key   the key of the list
+     * @param value the value to add to the list
+     */
+    @Override
+    public void listPush(String key, Object value) {
+        metrics.time("listPush", key, () -> redisTemplate.opsForList().rightPush(key, value));
+    }
+
+    /**
+     * Adds the specified values to the end of the list stored at the specified key in Redis.
+     *
+     * @param key    the key of the list
+     * @param values the collection of values to add to the list
+     */
+    @Override
+    public void listPushAll(String key, Collection<Object> values) {
+        metrics.time("listPushAll", key, () -> redisTemplate.opsForList().rightPushAll(key, values));
+    }
+
+    /**
+     * Retrieves a range of elements from the list stored at the specified key in Redis.
+     *
+     * @param key   the key of the list
+     * @param start the starting index (inclusive)
+     * @param end   the ending index (inclusive)
+     * @return a list of elements in the specified range
+     */
+    @Override
+    public List<Object> listRange(String key, long start, long end) {
+        return metrics.read("listRange", key, () -> redisTemplate.opsForList().range(key, start, end));
+    }
+
+    /**
+     * Sets the specified field to the specified value in the hash stored at the specified key in Redis.
+     *
+     * @param key   the key of the hash
+     * @param field the field to set
+     * @param value the value to set for the field
+     */
+    @Override
+    public void hashSet(String key, String field, Object value) {
+        metrics.time("hashSet", key, () -> redisTemplate.opsForHash().put(key, field, value));
+    }
+
+    /**
+     * Retrieves the value of the specified field from **field** from the hash stored at the specified key in Redis.
+     *
+     * @param key   the key of the hash
+     * @param field the field to retrieve
+     * @return the value of the field, or null if the field does not exist
+     */
+    @Override
+    public Object hashGet(String key, String field) {
+        return metrics.read("hashGet", key, () -> redisTemplate.opsForHash().get(key, field));
+    }
+
+    /**
+     * Retrieves all fields and values from the hash stored at the specified key in Redis.
+     *
+     * @param key the key of the hash
+     * @return a map containing all fields and their values in the hash
+     */
+    @Override
+    public Map<Object, Object> hashGetAll(String key) {
+        return metrics.read("hashGetAll", key, () -> redisTemplate.opsForHash().entries(key));
+    }
+
+    /**
+     * Sets one field of a versioned hash and increments its version counter, unless the field holds a value with a
+     * higher {@code version} (a JSON object with a numeric version), in which case nothing changes: updates of one
+     * entry applied out of order can't bring back an older value.
+     * The hash is only modified if it exists, so a partially filled hash is never created; the counter is incremented
+     * even then, which makes a concurrent {@link #versionedHashReplace} of the same hash fail.
+     * The hash's {@code _version} field is set to the new version.
+     *
+     * @return the new version, or the current one if the value was older
+     */
+    @Override
+    public long versionedHashUpdate(String key, String versionKey, String field, Object value, long version) {
+        return versionedHashUpdate("versionedHashUpdate", key, versionKey, field,
+                hashValueSerializer().serialize(value), serialize(String.valueOf(version)));
+    }
+
+    /**
+     * Removes one field of a versioned hash and increments its version counter, like {@link #versionedHashUpdate}.
+     *
+     * @return the new version
+     */
+    @Override
+    public long versionedHashRemove(String key, String versionKey, String field) {
+        return versionedHashUpdate("versionedHashRemove", key, versionKey, field, new byte[0], new byte[0]);
+    }
+
+    private long versionedHashUpdate(String operation, String key, String versionKey, String field, byte[] value,
+                                     byte[] valueVersion) {
+        Long version = metrics.time(operation, key,
+                () -> redisTemplate.execute(VERSIONED_HASH_UPDATE, RedisSerializer.byteArray(), LONG_RESULT,
+                        List.of(key, versionKey), serialize(String.valueOf(System.currentTimeMillis())),
+                        serialize(field), value, valueVersion));
+        return version != null ? version : 0;
+    }
+
+    /**
+     * Replaces the whole contents of a versioned hash if its version counter still equals {@code expectedVersion}
+     * (0 when the counter doesn't exist), i.e. no update happened since the caller read the source of {@code entries}.
+     * The hash expires after {@code timeout}; updates don't extend it, so it is rebuilt at least that often.
+     *
+     * @return the new version, or null if the counter had changed and nothing was written
+     */
+    @Override
+    public Long versionedHashReplace(String key, String versionKey, long expectedVersion, Map<String, Object> entries,
+                                     Duration timeout) {
+        List<Object> args = new ArrayList<>(3 + entries.size() * 2);
+        args.add(serialize(String.valueOf(System.currentTimeMillis())));
+        args.add(serialize(String.valueOf(expectedVersion)));
+        args.add(serialize(String.valueOf(timeout.toMillis())));
+        entries.forEach((field, value) -> {
+            args.add(serialize(field));
+            args.add(hashValueSerializer().serialize(value));
+        });
+        return metrics.time("versionedHashReplace", key,
+                () -> redisTemplate.execute(VERSIONED_HASH_REPLACE, RedisSerializer.byteArray(), LONG_RESULT,
+                        List.of(key, versionKey), args.toArray()));
+    }
+
+    /**
+     * Drops a versioned hash and increments its version counter, so it is rebuilt on next read and a rebuild
+     * that was already running doesn't store what it loaded.
+     *
+     * @return the new version
+     */
+    @Override
+    public long versionedHashInvalidate(String key, String versionKey) {
+        Long version = metrics.time("versionedHashInvalidate", key,
+                () -> redisTemplate.execute(VERSIONED_HASH_INVALIDATE, RedisSerializer.byteArray(), LONG_RESULT,
+                        List.of(key, versionKey), serialize(String.valueOf(System.currentTimeMillis()))));
+        return version != null ? version : 0;
+    }
+
+    /**
+     * Current value of a version counter, starting it at the current time if it doesn't exist (or expired), so a
+     * recreated counter never repeats a version seen before. Keys derived from the version are therefore never stale.
+     *
+     * @return the current version
+     */
+    @Override
+    public long versionCounter(String key, Duration timeout) {
+        Long version = metrics.time("versionCounter", key,
+                () -> redisTemplate.execute(VERSION_COUNTER, RedisSerializer.byteArray(), LONG_RESULT, List.of(key),
+                        serialize(String.valueOf(System.currentTimeMillis())),
+                        serialize(String.valueOf(timeout.toMillis()))));
+        return version != null ? version : 0;
+    }
+
+    /**
+     * Increments a version counter (see {@link #versionCounter}) and extends its expiry.
+     *
+     * @return the new version
+     */
+    @Override
+    public long incrementVersionCounter(String key, Duration timeout) {
+        Long version = metrics.time("incrementVersionCounter", key,
+                () -> redisTemplate.execute(INCREMENT_VERSION_COUNTER, RedisSerializer.byteArray(), LONG_RESULT,
+                        List.of(key), serialize(String.valueOf(System.currentTimeMillis())),
+                        serialize(String.valueOf(timeout.toMillis()))));
+        return version != null ? version : 0;
+    }
+
+    /**
+     * Increments a version counter that doesn't go below {@code floor}: the new version is one more than the larger of
+     * the two, so concurrent callers starting from the same floor each get their own version. Extends its expiry.
+     *
+     * @return the new version
+     */
+    @Override
+    public long incrementVersionCounterFrom(String key, long floor, Duration timeout) {
+        Long version = metrics.time("incrementVersionCounterFrom", key,
+                () -> redisTemplate.execute(INCREMENT_VERSION_COUNTER_FROM, RedisSerializer.byteArray(), LONG_RESULT,
+                        List.of(key), serialize(String.valueOf(floor)),
+                        serialize(String.valueOf(timeout.toMillis()))));
+        return version != null ? version : 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private RedisSerializer<Object> valueSerializer() {
+        return (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+    }
+
+    @SuppressWarnings("unchecked")
+    private RedisSerializer<Object> hashValueSerializer() {
+        return (RedisSerializer<Object>) redisTemplate.getHashValueSerializer();
+    }
+
+    private static byte[] serialize(String value) {
+        return RedisSerializer.string().serialize(value);
+    }
+
+    /**
+     * Deletes all keys matching the specified pattern from Redis.
+     * <p>
+     * Runs as an incremental SCAN with the configured batch size, so it never blocks the server the way KEYS does.
+     *
+     * @param pattern the pattern to match keys against
+     */
+    @Override
+    public void deletePattern(String pattern) {
+        long deleted = deletePattern(pattern, scanBatchSize, progress -> true);
+        log.info("Deleted {} keys matching pattern: {}", deleted, pattern);
+    }
+
+    /**
+     * Deletes all keys matching the specified pattern from Redis using SCAN and pipelined UNLINK.
+     * <p>
+     * Keys are collected in batches of at most {@code batchSize} and unlinked in a single pipeline per batch,
+     * so neither the Redis server nor the JVM ever holds the full key set. After each batch the running total
+     * is passed to {@code onProgress}; returning false (or interrupting the calling thread) stops the deletion.
+     *
+     * @param pattern    the pattern to match keys against
+     * @param batchSize  the SCAN COUNT hint and the maximum number of keys unlinked per pipeline
+     * @param onProgress receives the number of keys deleted so far, returns false to cancel
+     * @return the number of keys deleted
+     */
+    @Override
+    public long deletePattern(String pattern, int batchSize, LongPredicate onProgress) {
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(batchSize).build();
+        List<String> batch = new ArrayList<>(batchSize);
+        long deleted = 0;
+
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() < batchSize) {
+                    continue;
+                }
+                deleted += metrics.time("deletePattern", pattern, () -> unlinkPipelined(batch));
+                batch.clear();
+                if (Thread.currentThread().isInterrupted() || !onProgress.test(deleted)) {
+                    log.info("Deletion of pattern {} cancelled after {} keys", pattern, deleted);
+                    return deleted;
+                }
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            deleted += metrics.time("deletePattern", pattern, () -> unlinkPipelined(batch));
+            onProgress.test(deleted);
+        }
+        return deleted;
+    }
+
+    private long unlinkPipelined(List<String> keys) {
+        RedisSerializer<String> keySerializer = RedisSerializer.string();
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String key : keys) {
+                connection.keyCommands().unlink(keySerializer.serialize(key));
+            }
+            return null;
+        });
+        return results.stream()
+                .filter(Long.class::isInstance)
+                .mapToLong(Long.class::cast)
+                .sum();
+    }
 }
\ No newline at end of file
@@ -1,33 +1,36 @@
-package com.example.demo.service.impl;
-
-import java.util.List;
-
-import org.springframework.stereotype.Service;
-
-import com.example.demo.dto.response.StudentResponse;
-import com.example.demo.mapper.response.StudentResponseMapper;
-import com.example.demo.repository.StudentRepository;
-import com.example.demo.service.StudentService;
-
-import lombok.RequiredArgsConstructor;
-
-@Service
-@RequiredArgsConstructor
-public class StudentServiceImpl implements StudentService {
-
-    private final StudentRepository studentRepository;
-    // private final StudentRequestMapper requestMapper;
-    private final StudentResponseMapper responseMapper;
-
-    @Override
-    public List<StudentResponse> getAllStudents() {
-        return responseMapper.toListDto(studentRepository.findAll());
-    }
-
-    @Override
-    public StudentResponse getStudentById(int id) {
-        throw new UnsupportedOperationException("Not supported yet.");
-    }
-    
-    
-}
+package com.example.demo.service.impl;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.dto.response.StudentResponse;
+import com.example.demo.mapper.response.StudentResponseMapper;
+import com.example.demo.repository.StudentRepository;
+import com.example.demo.service.StudentService;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class StudentServiceImpl implements StudentService {
+
+    private final StudentRepository studentRepository;
+    private final StudentResponseMapper responseMapper;
+    // private final StudentRequestMapper requestMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<StudentResponse> getAllStudents() {
+        return studentRepository.findAllProjected();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StudentResponse getStudentById(int id) {
+        return studentRepository.findById(id)
+                .map(responseMapper::toDto)
+                .orElseThrow(() -> new RuntimeException("Student not found with id: " + id));
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.demo.service.messaging;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import com.example.demo.dto.message.ClassMessage;
+
+/**
+ * Outbound converter that claim-checks the payload of class messages whose body exceeds the threshold
+ * (see {@link ClaimCheckStore}); everything else is converted by the delegate unchanged.
+ * Consumers receive the reference and resolve it with {@link ClaimCheckStore#payload}.
+ */
+public class ClaimCheckMessageConverter implements MessageConverter {
+
+    private final MessageConverter delegate;
+    private final ClaimCheckStore claimCheckStore;
+
+    public ClaimCheckMessageConverter(MessageConverter delegate, ClaimCheckStore claimCheckStore) {
+        this.delegate = delegate;
+        this.claimCheckStore = claimCheckStore;
+    }
+
+    @Override
+    public Message toMessage(Object object, MessageProperties messageProperties) throws MessageConversionException {
+        Message message = delegate.toMessage(object, messageProperties);
+        if (claimCheckStore.isEnabled()
+                && object instanceof ClassMessage classMessage
+                && classMessage.getPayload() != null
+                && message.getBody().length > claimCheckStore.thresholdBytes()) {
+            return delegate.toMessage(claimCheckStore.checkIn(classMessage), messageProperties);
+        }
+        return message;
+    }
+
+    @Override
+    public Object fromMessage(Message message) throws MessageConversionException {
+        return delegate.fromMessage(message);
+    }
+}
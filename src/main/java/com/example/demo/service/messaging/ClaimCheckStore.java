@@ -0,0 +1,84 @@
+package com.example.demo.service.messaging;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import org.springframework.stereotype.Service;
+
+import com.example.demo.configuration.properties.ClaimCheckProperties;
+import com.example.demo.dto.message.ClassMessage;
+import com.example.demo.service.RedisService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stores large class message payloads in Redis under a content-addressed key ({@code claim:<sha-256>}), so the
+ * broker only carries a reference. Identical payloads share one key; each check-in refreshes its TTL, which is
+ * what eventually removes it (no reference counting, so the TTL must outlive any queue the message can sit in).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ClaimCheckStore {
+
+    private static final String KEY_PREFIX = "claim:";
+
+    private final RedisService redisService;
+    private final ObjectMapper objectMapper;
+    private final ClaimCheckProperties properties;
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public int thresholdBytes() {
+        return properties.getThresholdBytes();
+    }
+
+    /**
+     * Stores the payload of {@code message} and returns a copy carrying only the reference.
+     */
+    public ClassMessage checkIn(ClassMessage message) {
+        Object payload = message.getPayload();
+        String key = KEY_PREFIX + sha256(payload);
+        redisService.set(key, payload, properties.getTtl());
+        log.debug("Claim-checked payload of class message for class ID: {} under {}", message.getClassId(), key);
+        return message.toBuilder()
+                .payload(null)
+                .payloadRef(key)
+                .build();
+    }
+
+    /**
+     * The payload of {@code message}, fetched from Redis on first access if it was claim-checked.
+     * Returns null if the stored payload has already expired.
+     */
+    public Object payload(ClassMessage message) {
+        if (message.getPayload() != null || message.getPayloadRef() == null) {
+            return message.getPayload();
+        }
+        Object payload = redisService.get(message.getPayloadRef());
+        if (payload == null) {
+            log.warn("Claim-checked payload {} of class message for class ID: {} has expired",
+                    message.getPayloadRef(), message.getClassId());
+        }
+        message.setPayload(payload);
+        return payload;
+    }
+
+    private String sha256(Object payload) {
+        try {
+            byte[] content = payload instanceof String text
+                    ? text.getBytes(StandardCharsets.UTF_8)
+                    : objectMapper.writeValueAsBytes(payload);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not hash message payload", e);
+        }
+    }
+}
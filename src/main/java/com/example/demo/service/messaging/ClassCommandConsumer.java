@@ -0,0 +1,29 @@
+package com.example.demo.service.messaging;
+
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.dto.message.ClassCommand;
+import com.example.demo.service.ClassCommandService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Applies class commands accepted with {@code 202 Accepted}. A failed write is recorded as the command's outcome;
+ * only a failure to record it (e.g. Redis unavailable) rejects the message to {@code class.command.dlq}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClassCommandConsumer {
+
+    private final ClassCommandService commandService;
+
+    @RabbitListener(queues = "${app.rabbitmq.class.command.queue.name}",
+            concurrency = "${app.class.commands.concurrency}")
+    public void handleCommand(ClassCommand command) {
+        log.debug("Applying {} command {}", command.getAction(), command.getCommandId());
+        commandService.execute(command);
+    }
+}
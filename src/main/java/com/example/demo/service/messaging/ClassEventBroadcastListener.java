@@ -0,0 +1,101 @@
+package com.example.demo.service.messaging;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.configuration.datasource.ReadYourWrites;
+import com.example.demo.dto.message.ClassMessage;
+import com.example.demo.repository.ClassRepository;
+import com.example.demo.service.cache.ClassCache;
+import com.example.demo.service.cache.ClassIdFilter;
+import com.example.demo.service.search.ClassSearchIndex;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Receives every class event on this instance's broadcast queue (unlike {@link ClassMessageConsumer},
+ * where instances compete for messages) and keeps node-local state in sync: the class id filter and the
+ * in-memory search index.
+ * <p>
+ * Events are handled by a single consumer, in order, and the search index takes each changed class's current
+ * state (the class cache, which write-behind updates reach first, then the primary) rather than the event's name,
+ * so a late UPDATE can't bring back a deleted class or an older name.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ClassEventBroadcastListener {
+
+    private final ClassIdFilter classIdFilter;
+    private final ClaimCheckStore claimCheckStore;
+    private final ClassSearchIndex classSearchIndex;
+    private final ClassCache classCache;
+    private final ClassRepository classRepository;
+
+    @RabbitListener(queues = "#{classBroadcastQueue.name}", concurrency = "1-1")
+    public void handleClassEvent(ClassMessage message) {
+        if (!"SUCCESS".equals(message.getStatus()) || message.getAction() == null) {
+            return;
+        }
+        switch (message.getAction()) {
+            case "CREATE":
+                if (message.getClassId() != null) {
+                    classIdFilter.add(message.getClassId());
+                    log.debug("Broadcast: registered class id {} in local id filter", message.getClassId());
+                    refreshSearchIndex(message.getClassId());
+                }
+                break;
+            case "UPDATE":
+            case "DELETE":
+                if (message.getClassId() != null) {
+                    refreshSearchIndex(message.getClassId());
+                }
+                break;
+            case "BULK_CREATE":
+            case "BULK_UPDATE":
+            case "BULK_DELETE":
+                handleBulkChange(message);
+                break;
+            case "IMPORT":
+                handleImport(message);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void refreshSearchIndex(Integer id) {
+        classSearchIndex.refresh(id, () -> classCache.getOrLoad(id,
+                () -> ReadYourWrites.onPrimary(() -> classRepository.findProjectedById(id))));
+    }
+
+    private void handleBulkChange(ClassMessage message) {
+        List<Integer> ids = ClassMessage.bulkIds(claimCheckStore.payload(message));
+        if ("BULK_DELETE".equals(message.getAction())) {
+            classSearchIndex.removeAll(ids);
+            return;
+        }
+        if ("BULK_CREATE".equals(message.getAction())) {
+            ids.forEach(classIdFilter::add);
+            log.debug("Broadcast: registered {} class ids in local id filter", ids.size());
+        }
+        // Bulk events carry ids only; the search index reads the names back
+        classSearchIndex.refresh(ids);
+    }
+
+    private void handleImport(ClassMessage message) {
+        // Imported ids come from whole sequence blocks; registering the full range only adds false positives
+        if (claimCheckStore.payload(message) instanceof Map<?, ?> summary
+                && summary.get("firstId") instanceof Number first && summary.get("lastId") instanceof Number last) {
+            for (int id = first.intValue(); id <= last.intValue(); id++) {
+                classIdFilter.add(id);
+            }
+            log.debug("Broadcast: registered imported class ids {}..{} in local id filter", first, last);
+            classSearchIndex.refreshRange(first.intValue(), last.intValue());
+        }
+    }
+}
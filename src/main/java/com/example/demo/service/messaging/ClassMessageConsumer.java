@@ -1,135 +1,225 @@
-package com.example.demo.service.messaging;
-
-import org.springframework.amqp.rabbit.annotation.RabbitListener;
-import org.springframework.stereotype.Service;
-
-import com.example.demo.dto.message.ClassMessage;
-
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
-
-@Slf4j
-@Service
-@RequiredArgsConstructor
-public class ClassMessageConsumer {
-    
-    /**
-     * Listens to class messages from RabbitMQ
-     * 
-     * @param message The received class message
-     */
-    @RabbitListener(queues = "${app.rabbitmq.class.queue.name}")
-    public void handleClassMessage(ClassMessage message) {
-        try {
-            log.info("Received class message: {}", message);
-            
-            // DLQ Testing Triggers
-            if ("TEST_FAILURE_TRIGGER".equals(message.getMessage())) {
-                log.error("TEST MODE: Simulating message processing failure for class ID: {}", message.getClassId());
-                throw new RuntimeException("Simulated failure for DLQ testing - Class ID: " + message.getClassId());
-            }
-            
-            // Check for poison message test
-            if ("POISON_MESSAGE_TEST".equals(message.getClassName())) {
-                log.error("DLQ TEST: Processing poison message with invalid ID: {}", message.getClassId());
-                throw new IllegalArgumentException("Poison message detected - Invalid class ID: " + message.getClassId());
-            }
-            
-            // Check for runtime exception trigger
-            if ("THROW_RUNTIME_EXCEPTION".equals(message.getClassName())) {
-                log.error("DLQ TEST: Throwing runtime exception as requested");
-                throw new RuntimeException("Intentional runtime exception for DLQ testing");
-            }
-            
-            // Check for batch failure trigger
-            if (message.getPayload() != null && message.getPayload().toString().contains("BATCH_FAILURE_TRIGGER")) {
-                log.error("DLQ TEST: Batch failure trigger detected for message: {}", message.getClassName());
-                throw new IllegalStateException("Batch failure test - Message: " + message.getClassName());
-            }
-            
-            // Check for consumer failure trigger
-            if (message.getPayload() != null && message.getPayload().toString().contains("TRIGGER_CONSUMER_FAILURE")) {
-                log.error("DLQ TEST: Consumer failure trigger detected");
-                throw new RuntimeException("Consumer failure triggered by payload: " + message.getPayload());
-            }
-            
-            // Process the message based on action type
-            switch (message.getAction()) {
-                case "CREATE":
-                    handleClassCreated(message);
-                    break;
-                case "UPDATE":
-                    handleClassUpdated(message);
-                    break;
-                case "DELETE":
-                    handleClassDeleted(message);
-                    break;
-                default:
-                    log.warn("Unknown action type: {}", message.getAction());
-            }
-            
-            log.info("Successfully processed class message for class ID: {}", message.getClassId());
-            
-        } catch (Exception e) {
-            log.error("Failed to process class message: {}, Error: {}", message, e.getMessage(), e);
-            // In a real scenario, you might want to send to DLQ or retry
-            throw new RuntimeException("Failed to process message", e);
-        }
-    }
-    
-    /**
-     * Handles class creation messages
-     */
-    private void handleClassCreated(ClassMessage message) {
-        log.info("Processing class creation for ID: {}, Name: {}", 
-                message.getClassId(), message.getClassName());
-        
-        // Add your business logic here
-        // For example: send notifications, update cache, trigger other services, etc.
-        
-        // Example: Log the creation
-        log.info("Class '{}' with ID {} has been created successfully", 
-                message.getClassName(), message.getClassId());
-    }
-    
-    /**
-     * Handles class update messages
-     */
-    private void handleClassUpdated(ClassMessage message) {
-        log.info("Processing class update for ID: {}, Name: {}", 
-                message.getClassId(), message.getClassName());
-        
-        // Add your business logic here
-        // For example: invalidate cache, update search index, notify subscribers, etc.
-        
-        log.info("Class '{}' with ID {} has been updated successfully", 
-                message.getClassName(), message.getClassId());
-    }
-    
-    /**
-     * Handles class deletion messages
-     */
-    private void handleClassDeleted(ClassMessage message) {
-        log.info("Processing class deletion for ID: {}, Name: {}", 
-                message.getClassId(), message.getClassName());
-        
-        // Add your business logic here
-        // For example: cleanup related data, remove from cache, notify subscribers, etc.
-        
-        log.info("Class '{}' with ID {} has been deleted successfully", 
-                message.getClassName(), message.getClassId());
-    }
-    
-    /**
-     * Handles messages from Dead Letter Queue
-     */
-    @RabbitListener(queues = "${app.rabbitmq.class.dead-letter.queue.name}")
-    public void handleDeadLetterMessage(ClassMessage message) {
-        log.error("Received message from Dead Letter Queue: {}", message);
-        
-        // Handle failed messages
-        // For example: save to database for manual review, send alerts, etc.
-        
-        log.error("Message processing failed multiple times for class ID: {}", message.getClassId());
-    }
-}
+package com.example.demo.service.messaging;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.configuration.datasource.ReadYourWrites;
+import com.example.demo.dto.message.ClassMessage;
+import com.example.demo.dto.response.ClassResponse;
+import com.example.demo.repository.ClassRepository;
+import com.example.demo.service.cache.ClassCache;
+import com.example.demo.service.cache.ClassListCache;
+import com.example.demo.service.cache.RosterCache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ClassMessageConsumer {
+    
+    private final ClassRepository classRepository;
+    private final ClassCache classCache;
+    private final List<ClassListCache> listCaches;
+    private final RosterCache rosterCache;
+    private final ClaimCheckStore claimCheckStore;
+    
+    /**
+     * Listens to class messages from RabbitMQ
+     * 
+     * @param message The received class message
+     */
+    @RabbitListener(queues = "${app.rabbitmq.class.queue.name}")
+    public void handleClassMessage(ClassMessage message) {
+        try {
+            log.info("Received class message: {}", message);
+            
+            // DLQ Testing Triggers
+            if ("TEST_FAILURE_TRIGGER".equals(message.getMessage())) {
+                log.error("TEST MODE: Simulating message processing failure for class ID: {}", message.getClassId());
+                throw new RuntimeException("Simulated failure for DLQ testing - Class ID: " + message.getClassId());
+            }
+            
+            // Check for poison message test
+            if ("POISON_MESSAGE_TEST".equals(message.getClassName())) {
+                log.error("DLQ TEST: Processing poison message with invalid ID: {}", message.getClassId());
+                throw new IllegalArgumentException("Poison message detected - Invalid class ID: " + message.getClassId());
+            }
+            
+            // Check for runtime exception trigger
+            if ("THROW_RUNTIME_EXCEPTION".equals(message.getClassName())) {
+                log.error("DLQ TEST: Throwing runtime exception as requested");
+                throw new RuntimeException("Intentional runtime exception for DLQ testing");
+            }
+            
+            // Reading the payload fetches it from Redis if it was claim-checked
+            Object payload = claimCheckStore.payload(message);
+            
+            // Check for batch failure trigger
+            if (payload != null && payload.toString().contains("BATCH_FAILURE_TRIGGER")) {
+                log.error("DLQ TEST: Batch failure trigger detected for message: {}", message.getClassName());
+                throw new IllegalStateException("Batch failure test - Message: " + message.getClassName());
+            }
+            
+            // Check for consumer failure trigger
+            if (payload != null && payload.toString().contains("TRIGGER_CONSUMER_FAILURE")) {
+                log.error("DLQ TEST: Consumer failure trigger detected");
+                throw new RuntimeException("Consumer failure triggered by payload: " + payload);
+            }
+            
+            // Process the message based on action type
+            switch (message.getAction()) {
+                case "CREATE":
+                    handleClassCreated(message);
+                    break;
+                case "UPDATE":
+                    handleClassUpdated(message);
+                    break;
+                case "DELETE":
+                    handleClassDeleted(message);
+                    break;
+                case "BULK_CREATE":
+                case "BULK_UPDATE":
+                case "BULK_DELETE":
+                    handleBulkChange(message, payload);
+                    break;
+                case "IMPORT":
+                    handleClassesImported(message);
+                    break;
+                case "ENROLL":
+                case "UNENROLL":
+                    handleEnrollmentChanged(message, payload);
+                    break;
+                default:
+                    log.warn("Unknown action type: {}", message.getAction());
+            }
+            
+            log.info("Successfully processed class message for class ID: {}", message.getClassId());
+            
+        } catch (Exception e) {
+            log.error("Failed to process class message: {}, Error: {}", message, e.getMessage(), e);
+            // In a real scenario, you might want to send to DLQ or retry
+            throw new RuntimeException("Failed to process message", e);
+        }
+    }
+    
+    /**
+     * Handles class creation messages
+     */
+    private void handleClassCreated(ClassMessage message) {
+        log.info("Processing class creation for ID: {}, Name: {}", 
+                message.getClassId(), message.getClassName());
+        
+        // Add your business logic here
+        // For example: send notifications, update cache, trigger other services, etc.
+        
+        syncClassList(message);
+        
+        // Example: Log the creation
+        log.info("Class '{}' with ID {} has been created successfully", 
+                message.getClassName(), message.getClassId());
+    }
+    
+    /**
+     * Handles class update messages
+     */
+    private void handleClassUpdated(ClassMessage message) {
+        log.info("Processing class update for ID: {}, Name: {}", 
+                message.getClassId(), message.getClassName());
+        
+        // Add your business logic here
+        // For example: invalidate cache, update search index, notify subscribers, etc.
+        syncClassList(message);
+        
+        log.info("Class '{}' with ID {} has been updated successfully", 
+                message.getClassName(), message.getClassId());
+    }
+    
+    /**
+     * Handles class deletion messages
+     */
+    private void handleClassDeleted(ClassMessage message) {
+        log.info("Processing class deletion for ID: {}, Name: {}", 
+                message.getClassId(), message.getClassName());
+        
+        // Add your business logic here
+        // For example: cleanup related data, remove from cache, notify subscribers, etc.
+        syncClassList(message);
+        
+        log.info("Class '{}' with ID {} has been deleted successfully", 
+                message.getClassName(), message.getClassId());
+    }
+    
+    /**
+     * Handles the single event published for a bulk create, update or delete
+     */
+    private void handleBulkChange(ClassMessage message, Object payload) {
+        List<Integer> ids = ClassMessage.bulkIds(payload);
+        log.info("Processing {} for {} classes", message.getAction(), ids.size());
+        
+        for (Integer id : ids) {
+            syncClassList(id);
+        }
+        
+        log.info("{} of {} classes processed successfully", message.getAction(), ids.size());
+    }
+    
+    /**
+     * Handles the summary event of a bulk import. The importing node already cached the imported range
+     * and dropped the cached class lists.
+     */
+    private void handleClassesImported(ClassMessage message) {
+        log.info("Processing class import: {}", message.getMessage());
+        
+        // Add your business logic here
+        // For example: notify subscribers, rebuild search indexes, etc.
+    }
+    
+    /**
+     * Handles enrolment changes: the class's cached roster pages are dropped (one counter increment
+     * in Redis, shared by all instances)
+     */
+    private void handleEnrollmentChanged(ClassMessage message, Object payload) {
+        log.info("Processing {} of {} students for class ID: {}", message.getAction(),
+                ClassMessage.bulkIds(payload).size(), message.getClassId());
+        
+        if (message.getClassId() != null) {
+            rosterCache.invalidate(message.getClassId());
+        }
+    }
+    
+    /**
+     * Applies a class change to the cached class lists of every region. The event only says which id changed;
+     * the entry is set from the class's current state (cache, then database), so out-of-order or replayed events
+     * can't leave an outdated entry behind.
+     */
+    private void syncClassList(ClassMessage message) {
+        if (message.getClassId() != null) {
+            syncClassList(message.getClassId());
+        }
+    }
+    
+    private void syncClassList(Integer id) {
+        // The change may not have reached the read replicas yet
+        Optional<ClassResponse> current = classCache.getOrLoad(id,
+                () -> ReadYourWrites.onPrimary(() -> classRepository.findProjectedById(id)));
+        listCaches.forEach(listCache -> listCache.refresh(id, current));
+    }
+    
+    /**
+     * Handles messages from Dead Letter Queue
+     */
+    @RabbitListener(queues = "${app.rabbitmq.class.dead-letter.queue.name}")
+    public void handleDeadLetterMessage(ClassMessage message) {
+        log.error("Received message from Dead Letter Queue: {}", message);
+        
+        // Handle failed messages
+        // For example: save to database for manual review, send alerts, etc.
+        
+        log.error("Message processing failed multiple times for class ID: {}", message.getClassId());
+    }
+}
@@ -1,35 +1,53 @@
-package com.example.demo.service.messaging;
-
-import com.example.demo.dto.message.ClassMessage;
-
-/**
- * Interface for class messaging operations
- * Following Single Responsibility and Interface Segregation principles
- */
-public interface ClassMessagingService {
-    
-    /**
-     * Publishes a generic class message
-     */
-    void publishMessage(ClassMessage message);
-    
-    /**
-     * Publishes a class creation notification
-     */
-    void notifyClassCreated(Integer classId, String className);
-    
-    /**
-     * Publishes a class update notification
-     */
-    void notifyClassUpdated(Integer classId, String className);
-    
-    /**
-     * Publishes a class deletion notification
-     */
-    void notifyClassDeleted(Integer classId, String className);
-    
-    /**
-     * Publishes a class operation failure notification
-     */
-    void notifyClassOperationFailed(Integer classId, String className, String action, String errorMessage);
-}
+package com.example.demo.service.messaging;
+
+import java.util.List;
+
+import com.example.demo.dto.message.ClassMessage;
+import com.example.demo.dto.response.ClassImportResponse;
+
+/**
+ * Interface for class messaging operations
+ * Following Single Responsibility and Interface Segregation principles
+ */
+public interface ClassMessagingService {
+    
+    /**
+     * Publishes a generic class message
+     */
+    void publishMessage(ClassMessage message);
+    
+    /**
+     * Publishes a class creation notification
+     */
+    void notifyClassCreated(Integer classId, String className);
+    
+    /**
+     * Publishes a class update notification
+     */
+    void notifyClassUpdated(Integer classId, String className);
+    
+    /**
+     * Publishes a class deletion notification
+     */
+    void notifyClassDeleted(Integer classId, String className);
+    
+    /**
+     * Publishes a single notification for a batch of created, updated or deleted classes
+     */
+    void notifyClassesChanged(List<Integer> classIds, String action);
+    
+    /**
+     * Publishes a single summary notification for a bulk import
+     */
+    void notifyClassesImported(ClassImportResponse summary);
+    
+    /**
+     * Publishes a notification that students were enrolled in (ENROLL) or removed from (UNENROLL) a class
+     */
+    void notifyEnrollmentChanged(Integer classId, List<Integer> studentIds, String action);
+    
+    /**
+     * Publishes a class operation failure notification
+     */
+    void notifyClassOperationFailed(Integer classId, String className, String action, String errorMessage);
+}
@@ -0,0 +1,147 @@
+package com.example.demo.service.messaging;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.configuration.datasource.ReadYourWrites;
+import com.example.demo.dto.message.ClassPersistCommand;
+import com.example.demo.dto.response.ClassResponse;
+import com.example.demo.repository.ClassRepository;
+import com.example.demo.service.cache.ClassCache;
+import com.example.demo.service.cache.ClassListCache;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Persists write-behind class updates. Commands arrive in batches; updates of the same id within a batch
+ * are coalesced (last one wins) and the rest is written as one JDBC batch in a single transaction.
+ * If the batch fails, rows are retried one by one so a single bad command can't hold back the others;
+ * commands that still fail go to the persistence dead letter queue and the class's cached state (its entries
+ * in every region and in the class lists) is replaced by what the database actually holds. The same happens
+ * to commands that update no row (the class was deleted, or the row is already newer than the command).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ClassPersistenceConsumer {
+
+    // Coalesced updates skip versions; the row takes the version of the last cached update. A row that is already
+    // at that version or newer was written since (or the command is a redelivery) and is left alone
+    private static final String UPDATE_SQL = "update classes set name = ?, version = ? where id = ? and version < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ClassPersistencePublisher publisher;
+    private final List<ClassCache> classCaches;
+    private final List<ClassListCache> listCaches;
+    private final ClassRepository classRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.rabbitmq.class.dead-letter.exchange.name}")
+    private String classDeadLetterExchangeName;
+
+    @Value("${app.rabbitmq.class.persist.dead-letter.queue.name}")
+    private String classPersistDeadLetterQueueName;
+
+    @RabbitListener(queues = "${app.rabbitmq.class.persist.queue.name}",
+            containerFactory = "persistBatchListenerContainerFactory")
+    public void persist(List<ClassPersistCommand> commands) {
+        if (commands.isEmpty()) {
+            return;
+        }
+        long oldestEnqueuedAt = Long.MAX_VALUE;
+        Map<Integer, ClassPersistCommand> latest = new LinkedHashMap<>();
+        for (ClassPersistCommand command : commands) {
+            oldestEnqueuedAt = Math.min(oldestEnqueuedAt, command.getEnqueuedAt());
+            latest.merge(command.getClassId(), command,
+                    (previous, next) -> next.getVersion() >= previous.getVersion() ? next : previous);
+        }
+        List<ClassPersistCommand> rows = new ArrayList<>(latest.values());
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        int failed = 0;
+        try {
+            int[][] counts = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(UPDATE_SQL, rows, rows.size(),
+                    (ps, command) -> {
+                        ps.setString(1, command.getName());
+                        ps.setLong(2, command.getVersion());
+                        ps.setInt(3, command.getClassId());
+                        ps.setLong(4, command.getVersion());
+                    }));
+            for (int i = 0; i < rows.size(); i++) {
+                if (counts[0][i] == 0) {
+                    skipped(rows.get(i));
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Write-behind batch of {} rows failed, retrying row by row: {}", rows.size(), e.getMessage());
+            failed = persistIndividually(rows);
+        }
+        sample.stop(meterRegistry.timer("class.write_behind.flush"));
+
+        publisher.recordFlush(oldestEnqueuedAt);
+        long now = System.currentTimeMillis();
+        Timer persistLag = meterRegistry.timer("class.write_behind.persist.lag");
+        for (ClassPersistCommand command : rows) {
+            persistLag.record(now - command.getEnqueuedAt(), TimeUnit.MILLISECONDS);
+            publisher.clearPending(command);
+        }
+
+        DistributionSummary.builder("class.write_behind.batch.size").register(meterRegistry).record(commands.size());
+        meterRegistry.counter("class.write_behind.commands", "outcome", "coalesced").increment(commands.size() - rows.size());
+        meterRegistry.counter("class.write_behind.commands", "outcome", "persisted").increment(rows.size() - failed);
+        meterRegistry.counter("class.write_behind.commands", "outcome", "failed").increment(failed);
+        log.info("Write-behind flush: {} commands, {} rows written, {} failed", commands.size(), rows.size() - failed, failed);
+    }
+
+    private int persistIndividually(List<ClassPersistCommand> rows) {
+        int failed = 0;
+        for (ClassPersistCommand command : rows) {
+            try {
+                int updated = jdbcTemplate.update(UPDATE_SQL, command.getName(), command.getVersion(), command.getClassId(),
+                        command.getVersion());
+                if (updated == 0) {
+                    skipped(command);
+                }
+            } catch (Exception e) {
+                failed++;
+                log.error("Write-behind update failed for class id: {}: {}", command.getClassId(), e.getMessage(), e);
+                discardCached(command.getClassId());
+                rabbitTemplate.convertAndSend(classDeadLetterExchangeName, classPersistDeadLetterQueueName, command);
+            }
+        }
+        return failed;
+    }
+
+    private void skipped(ClassPersistCommand command) {
+        log.warn("Write-behind update skipped, class id: {} no longer exists or is newer than version {}",
+                command.getClassId(), command.getVersion());
+        discardCached(command.getClassId());
+    }
+
+    /**
+     * The caches hold the update that was never written; reads fall back to the row. List entries are replaced
+     * rather than refreshed, since the unwritten entry has a higher version than the row.
+     */
+    private void discardCached(Integer id) {
+        classCaches.forEach(cache -> cache.evict(id));
+        Optional<ClassResponse> current = ReadYourWrites.onPrimary(() -> classRepository.findProjectedById(id));
+        listCaches.forEach(cache -> cache.replace(id, current));
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.demo.service.messaging;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.configuration.properties.WriteBehindProperties;
+import com.example.demo.dto.message.ClassPersistCommand;
+import com.example.demo.service.RedisService;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Enqueues write-behind persistence commands and decides whether an update may take the write-behind path.
+ * <p>
+ * Staleness is bounded: the persistence lag (enqueue to commit, reported by {@link ClassPersistenceConsumer}
+ * and extended while the queue has a backlog that isn't being flushed) is sampled every second, and updates
+ * fall back to synchronous writes while it exceeds {@code app.class.write-behind.max-staleness}.
+ * An id with a command still queued keeps going through the queue (also while draining on shutdown), so a
+ * synchronous write can't be overwritten by an older queued one; writes that can't take the queue (bulk and
+ * simple updates) wait for the id's queued commands to be persisted first ({@link #awaitPersisted}).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ClassPersistencePublisher {
+
+    private static final String PENDING_KEY_PREFIX = "write-behind:class:";
+    private static final Duration PENDING_KEY_TTL = Duration.ofHours(1);
+    private static final String VERSION_KEY_PREFIX = "write-behind:class-version:";
+
+    private final RabbitTemplate rabbitTemplate;
+    private final AmqpAdmin amqpAdmin;
+    private final RedisService redisService;
+    private final WriteBehindProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.rabbitmq.class.exchange.name}")
+    private String classExchangeName;
+
+    @Value("${app.rabbitmq.class.persist.routing-key}")
+    private String classPersistRoutingKey;
+
+    @Value("${app.rabbitmq.class.persist.queue.name}")
+    private String classPersistQueueName;
+
+    private final AtomicLong lastFlushLag = new AtomicLong();
+    private final AtomicLong lastFlushAt = new AtomicLong(System.currentTimeMillis());
+    private final AtomicLong estimatedLag = new AtomicLong();
+    private final AtomicLong backlog = new AtomicLong();
+    private volatile boolean draining;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("class.write_behind.lag", estimatedLag, AtomicLong::get)
+                .description("Estimated age of the oldest class update not yet persisted")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("class.write_behind.backlog", backlog, AtomicLong::get)
+                .description("Persistence commands waiting in the queue")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether an update of {@code classId} should be written behind rather than synchronously.
+     */
+    public boolean accepts(Integer classId) {
+        if (!properties.isEnabled()) {
+            return false;
+        }
+        if (!draining && estimatedLag.get() <= properties.getMaxStaleness().toMillis()) {
+            return true;
+        }
+        return redisService.hasKey(pendingKey(classId));
+    }
+
+    /**
+     * Waits until none of {@code classIds} has a write-behind update still queued, so a synchronous write of them
+     * isn't overwritten when that update is flushed. Fails if they aren't persisted within the max staleness.
+     */
+    public void awaitPersisted(Collection<Integer> classIds) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        List<String> keys = classIds.stream().distinct().map(this::pendingKey).toList();
+        long deadline = System.nanoTime() + properties.getMaxStaleness().toNanos();
+        while (redisService.countExisting(keys) > 0) {
+            if (System.nanoTime() >= deadline) {
+                throw new RuntimeException("Write-behind updates of these classes are still queued, retry later");
+            }
+            try {
+                Thread.sleep(properties.getFlushInterval().toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for queued write-behind updates", e);
+            }
+        }
+    }
+
+    /**
+     * Reserves the version a write-behind update of {@code classId} gives the row: one more than the last version
+     * reserved, or than {@code currentVersion} if that's higher. Concurrent updates of one class get distinct versions,
+     * so the last one reserved is the one persisted and every version names one state.
+     */
+    public long reserveVersion(Integer classId, long currentVersion) {
+        return redisService.incrementVersionCounterFrom(VERSION_KEY_PREFIX + classId, currentVersion, PENDING_KEY_TTL);
+    }
+
+    public void enqueue(Integer classId, String name, long version) {
+        ClassPersistCommand command = ClassPersistCommand.builder()
+                .classId(classId)
+                .name(name)
+                .version(version)
+                .enqueuedAt(System.currentTimeMillis())
+                .build();
+        redisService.set(pendingKey(classId), command.getEnqueuedAt(), PENDING_KEY_TTL);
+        rabbitTemplate.convertAndSend(classExchangeName, classPersistRoutingKey, command);
+        log.debug("Enqueued write-behind update for class id: {}", classId);
+    }
+
+    /**
+     * Called by the consumer after a batch was committed.
+     */
+    void recordFlush(long oldestEnqueuedAt) {
+        long now = System.currentTimeMillis();
+        lastFlushLag.set(now - oldestEnqueuedAt);
+        lastFlushAt.set(now);
+    }
+
+    /**
+     * Clears the pending marker of a persisted command, unless a newer command for the id was enqueued since.
+     */
+    void clearPending(ClassPersistCommand command) {
+        redisService.deleteIfEquals(pendingKey(command.getClassId()), command.getEnqueuedAt());
+    }
+
+    @Scheduled(fixedDelay = 1000)
+    public void sampleLag() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long waiting = queuedCommands();
+        backlog.set(Math.max(waiting, 0));
+        long now = System.currentTimeMillis();
+        long sinceFlush = now - lastFlushAt.get();
+        long lag;
+        if (waiting != 0) {
+            // Commands are waiting (or the broker is unreachable): lag keeps growing until the next flush
+            lag = Math.max(lastFlushLag.get(), sinceFlush);
+        } else if (sinceFlush > properties.getMaxStaleness().toMillis()) {
+            // Caught up and idle
+            lag = 0;
+        } else {
+            lag = lastFlushLag.get();
+        }
+        estimatedLag.set(lag);
+    }
+
+    /**
+     * Runs before listener containers stop: new updates go synchronous (unless their id still has a command
+     * queued) and shutdown waits (bounded) for the consumer to empty the queue.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void drainOnShutdown() {
+        draining = true;
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long deadline = System.nanoTime() + properties.getShutdownDrainTimeout().toNanos();
+        long waiting;
+        while ((waiting = queuedCommands()) > 0 && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(properties.getFlushInterval().toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (waiting > 0) {
+            log.warn("Shutting down with {} write-behind commands still queued; they are persisted on next start", waiting);
+        } else {
+            log.info("Write-behind persistence queue drained");
+        }
+    }
+
+    private long queuedCommands() {
+        try {
+            Properties queue = amqpAdmin.getQueueProperties(classPersistQueueName);
+            Object count = queue != null ? queue.get(RabbitAdmin.QUEUE_MESSAGE_COUNT) : null;
+            return count instanceof Number number ? number.longValue() : -1;
+        } catch (Exception e) {
+            log.warn("Could not read write-behind queue depth: {}", e.getMessage());
+            return -1;
+        }
+    }
+
+    private String pendingKey(Integer classId) {
+        return PENDING_KEY_PREFIX + classId;
+    }
+}
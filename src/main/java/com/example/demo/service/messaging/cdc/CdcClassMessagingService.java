@@ -0,0 +1,70 @@
+package com.example.demo.service.messaging.cdc;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.dto.message.ClassMessage;
+import com.example.demo.dto.response.ClassImportResponse;
+import com.example.demo.service.messaging.ClassMessagePublisher;
+import com.example.demo.service.messaging.ClassMessagingService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The messaging service while {@link ClassChangeCapture} publishes class events: writes to {@code classes}
+ * publish nothing on the request path, as with {@code ClassSimpleServiceImpl}. Events that aren't row changes
+ * of {@code classes} (enrolments, failures, explicit messages) still go through {@link ClassMessagePublisher}.
+ */
+@Primary
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.cdc", name = "enabled", havingValue = "true")
+public class CdcClassMessagingService implements ClassMessagingService {
+
+    private final ClassMessagePublisher publisher;
+
+    @Override
+    public void publishMessage(ClassMessage message) {
+        publisher.publishMessage(message);
+    }
+
+    @Override
+    public void notifyClassCreated(Integer classId, String className) {
+        // Captured from the WAL
+    }
+
+    @Override
+    public void notifyClassUpdated(Integer classId, String className) {
+        // Captured from the WAL
+    }
+
+    @Override
+    public void notifyClassDeleted(Integer classId, String className) {
+        // Captured from the WAL
+    }
+
+    @Override
+    public void notifyClassesChanged(List<Integer> classIds, String action) {
+        // Captured from the WAL
+    }
+
+    /**
+     * No summary event: the imported rows are captured as {@code BULK_CREATE} events.
+     */
+    @Override
+    public void notifyClassesImported(ClassImportResponse summary) {
+    }
+
+    @Override
+    public void notifyEnrollmentChanged(Integer classId, List<Integer> studentIds, String action) {
+        publisher.notifyEnrollmentChanged(classId, studentIds, action);
+    }
+
+    @Override
+    public void notifyClassOperationFailed(Integer classId, String className, String action, String errorMessage) {
+        publisher.notifyClassOperationFailed(classId, className, action, errorMessage);
+    }
+}
@@ -0,0 +1,300 @@
+package com.example.demo.service.messaging.cdc;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGProperty;
+import org.postgresql.replication.LogSequenceNumber;
+import org.postgresql.replication.PGReplicationStream;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.configuration.properties.CdcProperties;
+import com.example.demo.dto.message.ClassMessage;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Publishes class events from the changes PostgreSQL writes to its WAL, read through a logical replication slot
+ * with the built-in {@code pgoutput} plugin (so every write to {@code classes} is published, whichever code path
+ * made it, and none is published for a transaction that rolled back).
+ * <p>
+ * Changes are collected per transaction; on commit, runs of the same operation become one {@code CREATE},
+ * {@code UPDATE} or {@code DELETE} event, or one {@code BULK_*} event per {@value #MAX_IDS_PER_MESSAGE} ids.
+ * Events are published in batches of whole transactions and the batch's end LSN is checkpointed (in
+ * {@code cdc_checkpoints} and as the slot's confirmed position) only once the broker has confirmed all of them.
+ * After a crash or a broker error capture resumes from the checkpoint, so delivery is at least once: consumers
+ * already treat events as "this id changed" and re-read the row. Only one instance can hold the slot; the others
+ * keep retrying and take over when it is released.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.cdc", name = "enabled", havingValue = "true")
+public class ClassChangeCapture implements SmartLifecycle {
+
+    private static final String TABLE = "classes";
+    private static final int MAX_IDS_PER_MESSAGE = 10_000;
+
+    private static final String PUBLICATION_EXISTS = "select count(*) from pg_publication where pubname = ?";
+    private static final String SLOT_EXISTS = "select count(*) from pg_replication_slots where slot_name = ?";
+    private static final String CREATE_SLOT = "select pg_create_logical_replication_slot(?, 'pgoutput')";
+    private static final String READ_CHECKPOINT = "select lsn::text from cdc_checkpoints where slot_name = ?";
+    private static final String SAVE_CHECKPOINT =
+            "insert into cdc_checkpoints (slot_name, lsn, updated_at) values (?, ?::pg_lsn, now()) "
+            + "on conflict (slot_name) do update set lsn = excluded.lsn, updated_at = excluded.updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final RabbitTemplate rabbitTemplate;
+    private final CdcProperties properties;
+    private final Counter published;
+
+    @Value("${app.rabbitmq.class.exchange.name}")
+    private String classExchangeName;
+
+    @Value("${app.rabbitmq.class.routing-key}")
+    private String classRoutingKey;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public ClassChangeCapture(JdbcTemplate jdbcTemplate, DataSourceProperties dataSourceProperties,
+                              RabbitTemplate rabbitTemplate, CdcProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.rabbitTemplate = rabbitTemplate;
+        this.properties = properties;
+        this.published = Counter.builder("class.cdc.published")
+                .description("Class events published from logical replication")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = Thread.ofPlatform().name("class-cdc").daemon().start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(properties.getConfirmTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                prepare();
+                capture();
+            } catch (Exception e) {
+                if (!running) {
+                    break;
+                }
+                log.warn("Class change capture stopped, retrying in {}: {}", properties.getRetryInterval(), e.getMessage());
+                try {
+                    Thread.sleep(properties.getRetryInterval());
+                } catch (InterruptedException interrupted) {
+                    break;
+                }
+            }
+        }
+        log.info("Class change capture stopped");
+    }
+
+    // The publication and slot are created on first start; the slot then retains WAL until it is dropped
+    private void prepare() {
+        if (jdbcTemplate.queryForObject(PUBLICATION_EXISTS, Integer.class, properties.getPublication()) == 0) {
+            jdbcTemplate.execute("create publication " + properties.getPublication() + " for table " + TABLE);
+            log.info("Created publication {}", properties.getPublication());
+        }
+        if (jdbcTemplate.queryForObject(SLOT_EXISTS, Integer.class, properties.getSlotName()) == 0) {
+            jdbcTemplate.queryForList(CREATE_SLOT, properties.getSlotName());
+            log.info("Created replication slot {}", properties.getSlotName());
+        }
+    }
+
+    private void capture() throws Exception {
+        LogSequenceNumber start = jdbcTemplate.queryForList(READ_CHECKPOINT, String.class, properties.getSlotName())
+                .stream().findFirst().map(LogSequenceNumber::valueOf).orElse(LogSequenceNumber.INVALID_LSN);
+
+        try (Connection connection = openReplicationConnection();
+             PGReplicationStream stream = connection.unwrap(PGConnection.class).getReplicationAPI()
+                     .replicationStream()
+                     .logical()
+                     .withSlotName(properties.getSlotName())
+                     .withSlotOption("proto_version", 1)
+                     .withSlotOption("publication_names", properties.getPublication())
+                     .withStartPosition(start)
+                     .withStatusInterval(10, TimeUnit.SECONDS)
+                     .start()) {
+            log.info("Capturing class changes from slot {} at {}", properties.getSlotName(), start.asString());
+
+            PgOutputDecoder decoder = new PgOutputDecoder();
+            List<PgOutputDecoder.Message> transaction = new ArrayList<>();
+            List<ClassMessage> batch = new ArrayList<>();
+            LogSequenceNumber batchEnd = null;
+            long batchStarted = 0;
+
+            while (running) {
+                ByteBuffer buffer = stream.readPending();
+                if (buffer == null) {
+                    if (batchEnd != null && System.nanoTime() - batchStarted >= properties.getFlushInterval().toNanos()) {
+                        flush(stream, batch, batchEnd);
+                        batchEnd = null;
+                    }
+                    TimeUnit.MILLISECONDS.sleep(10);
+                    continue;
+                }
+
+                PgOutputDecoder.Message message = decoder.decode(buffer);
+                switch (message.kind()) {
+                    case INSERT:
+                    case UPDATE:
+                    case DELETE:
+                        if (TABLE.equals(message.table())) {
+                            transaction.add(message);
+                        }
+                        break;
+                    case TRUNCATE:
+                        log.warn("Table {} truncated; no class events are published for a truncate", message.table());
+                        break;
+                    case COMMIT:
+                        // Transactions without class changes still advance the checkpoint
+                        batch.addAll(toMessages(transaction));
+                        transaction.clear();
+                        if (batchEnd == null) {
+                            batchStarted = System.nanoTime();
+                        }
+                        batchEnd = LogSequenceNumber.valueOf(message.lsn());
+                        if (batch.size() >= properties.getBatchSize()) {
+                            flush(stream, batch, batchEnd);
+                            batchEnd = null;
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+    }
+
+    private Connection openReplicationConnection() throws SQLException {
+        Properties connectionProperties = new Properties();
+        PGProperty.USER.set(connectionProperties, dataSourceProperties.determineUsername());
+        PGProperty.PASSWORD.set(connectionProperties, dataSourceProperties.determinePassword());
+        PGProperty.REPLICATION.set(connectionProperties, "database");
+        PGProperty.PREFER_QUERY_MODE.set(connectionProperties, "simple");
+        PGProperty.ASSUME_MIN_SERVER_VERSION.set(connectionProperties, "10");
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(), connectionProperties);
+    }
+
+    /**
+     * Publishes the batch, waits for the broker to confirm every message, then checkpoints {@code end}.
+     * Throws (leaving the checkpoint where it was) if a message is nacked, returned as unroutable or not
+     * confirmed within {@code app.cdc.confirm-timeout}.
+     */
+    private void flush(PGReplicationStream stream, List<ClassMessage> batch, LogSequenceNumber end)
+            throws SQLException, InterruptedException, ExecutionException, TimeoutException {
+        List<CorrelationData> confirms = new ArrayList<>(batch.size());
+        for (ClassMessage message : batch) {
+            CorrelationData correlation = new CorrelationData();
+            rabbitTemplate.convertAndSend(classExchangeName, classRoutingKey, message, correlation);
+            confirms.add(correlation);
+        }
+
+        long deadline = System.nanoTime() + properties.getConfirmTimeout().toNanos();
+        for (CorrelationData correlation : confirms) {
+            CorrelationData.Confirm confirm = correlation.getFuture()
+                    .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            if (!confirm.isAck()) {
+                throw new IllegalStateException("Class event not confirmed by the broker: " + confirm.getReason());
+            }
+            if (correlation.getReturned() != null) {
+                throw new IllegalStateException("Class event returned by the broker: " + correlation.getReturned().getReplyText());
+            }
+        }
+
+        jdbcTemplate.update(SAVE_CHECKPOINT, properties.getSlotName(), end.asString());
+        stream.setAppliedLSN(end);
+        stream.setFlushedLSN(end);
+        stream.forceUpdateStatus();
+
+        if (!batch.isEmpty()) {
+            published.increment(batch.size());
+            log.debug("Published {} class events up to {}", batch.size(), end.asString());
+        }
+        batch.clear();
+    }
+
+    /**
+     * The events of one committed transaction's class changes: a run of consecutive changes of the same kind is
+     * one event, a bulk event (in chunks of {@value #MAX_IDS_PER_MESSAGE} ids) when it has more than one change.
+     */
+    static List<ClassMessage> toMessages(List<PgOutputDecoder.Message> changes) {
+        List<ClassMessage> messages = new ArrayList<>();
+        int runStart = 0;
+        while (runStart < changes.size()) {
+            PgOutputDecoder.Kind kind = changes.get(runStart).kind();
+            int runEnd = runStart + 1;
+            while (runEnd < changes.size() && changes.get(runEnd).kind() == kind) {
+                runEnd++;
+            }
+
+            String action = action(kind);
+            if (runEnd - runStart == 1) {
+                PgOutputDecoder.Message change = changes.get(runStart);
+                messages.add(ClassMessage.successMessage(Integer.valueOf(change.columns().get("id")),
+                        change.columns().get("name"), action, "Class change captured"));
+            } else {
+                for (int chunkStart = runStart; chunkStart < runEnd; chunkStart += MAX_IDS_PER_MESSAGE) {
+                    List<Integer> ids = changes.subList(chunkStart, Math.min(runEnd, chunkStart + MAX_IDS_PER_MESSAGE))
+                            .stream()
+                            .map(change -> Integer.valueOf(change.columns().get("id")))
+                            .toList();
+                    messages.add(ClassMessage.bulkMessage(ids, "BULK_" + action,
+                            ids.size() + " class changes captured"));
+                }
+            }
+            runStart = runEnd;
+        }
+        return messages;
+    }
+
+    private static String action(PgOutputDecoder.Kind kind) {
+        switch (kind) {
+            case INSERT:
+                return "CREATE";
+            case UPDATE:
+                return "UPDATE";
+            default:
+                return "DELETE";
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.demo.service.messaging.cdc;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decodes the messages of PostgreSQL's built-in {@code pgoutput} logical decoding plugin (protocol version 1, text
+ * tuples). Relation messages, which precede the first change of a table in each session, are remembered so changes
+ * can be reported by table and column name. Not thread-safe: one decoder per replication stream.
+ */
+public class PgOutputDecoder {
+
+    public enum Kind { BEGIN, COMMIT, RELATION, INSERT, UPDATE, DELETE, TRUNCATE, OTHER }
+
+    /**
+     * One decoded message. {@code columns} holds the new row for inserts and updates and the key (or old row,
+     * depending on the replica identity) for deletes; {@code lsn} is the end of the transaction for commits.
+     */
+    public record Message(Kind kind, String table, Map<String, String> columns, long lsn) {
+    }
+
+    private record Relation(String table, List<String> columns) {
+    }
+
+    private final Map<Integer, Relation> relations = new HashMap<>();
+
+    public Message decode(ByteBuffer buffer) {
+        char type = (char) buffer.get();
+        switch (type) {
+            case 'B': {
+                long finalLsn = buffer.getLong();
+                return new Message(Kind.BEGIN, null, Map.of(), finalLsn);
+            }
+            case 'C': {
+                buffer.get(); // flags
+                buffer.getLong(); // commit LSN
+                long endLsn = buffer.getLong();
+                return new Message(Kind.COMMIT, null, Map.of(), endLsn);
+            }
+            case 'R': {
+                int relationId = buffer.getInt();
+                String namespace = readString(buffer);
+                String table = readString(buffer);
+                buffer.get(); // replica identity
+                int columnCount = buffer.getShort();
+                List<String> columns = new ArrayList<>(columnCount);
+                for (int i = 0; i < columnCount; i++) {
+                    buffer.get(); // flags (part of the key)
+                    columns.add(readString(buffer));
+                    buffer.getInt(); // type oid
+                    buffer.getInt(); // type modifier
+                }
+                relations.put(relationId, new Relation(table, columns));
+                return new Message(Kind.RELATION, namespace + "." + table, Map.of(), 0);
+            }
+            case 'I': {
+                Relation relation = relation(buffer.getInt());
+                buffer.get(); // 'N'
+                return new Message(Kind.INSERT, relation.table(), readTuple(buffer, relation), 0);
+            }
+            case 'U': {
+                Relation relation = relation(buffer.getInt());
+                char tuple = (char) buffer.get();
+                if (tuple == 'K' || tuple == 'O') {
+                    // Old key or row, sent when the key changed or with replica identity full
+                    readTuple(buffer, relation);
+                    buffer.get(); // 'N'
+                }
+                return new Message(Kind.UPDATE, relation.table(), readTuple(buffer, relation), 0);
+            }
+            case 'D': {
+                Relation relation = relation(buffer.getInt());
+                buffer.get(); // 'K' or 'O'
+                return new Message(Kind.DELETE, relation.table(), readTuple(buffer, relation), 0);
+            }
+            case 'T': {
+                int relationCount = buffer.getInt();
+                buffer.get(); // options
+                List<String> tables = new ArrayList<>(relationCount);
+                for (int i = 0; i < relationCount; i++) {
+                    tables.add(relation(buffer.getInt()).table());
+                }
+                return new Message(Kind.TRUNCATE, String.join(",", tables), Map.of(), 0);
+            }
+            default:
+                // Origin, type and logical decoding messages
+                return new Message(Kind.OTHER, null, Map.of(), 0);
+        }
+    }
+
+    private Relation relation(int relationId) {
+        Relation relation = relations.get(relationId);
+        if (relation == null) {
+            throw new IllegalStateException("Change for unknown relation " + relationId);
+        }
+        return relation;
+    }
+
+    // Columns by name; null for SQL NULL, absent for unchanged TOAST values (not sent)
+    private static Map<String, String> readTuple(ByteBuffer buffer, Relation relation) {
+        int columnCount = buffer.getShort();
+        Map<String, String> values = new LinkedHashMap<>();
+        for (int i = 0; i < columnCount; i++) {
+            char kind = (char) buffer.get();
+            String column = relation.columns().get(i);
+            if (kind == 'n') {
+                values.put(column, null);
+            } else if (kind == 't') {
+                byte[] value = new byte[buffer.getInt()];
+                buffer.get(value);
+                values.put(column, new String(value, StandardCharsets.UTF_8));
+            }
+        }
+        return Collections.unmodifiableMap(values);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int start = buffer.position();
+        while (buffer.get() != 0) {
+            // scan to the terminator
+        }
+        byte[] bytes = new byte[buffer.position() - start - 1];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.demo.service.search;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.configuration.datasource.ReadYourWrites;
+import com.example.demo.configuration.properties.SearchProperties;
+import com.example.demo.dto.response.ClassResponse;
+import com.example.demo.repository.ClassRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This node's in-memory {@link NameSearchIndex} of class names, used when {@code app.search.engine=MEMORY}.
+ * <p>
+ * The index is built from the database on startup and rebuilt periodically (which also drops stale postings);
+ * class events from the broadcast queue are applied in between. Changes that arrive while a rebuild is streaming
+ * go to both indexes, and the rebuild skips the rows they touched, so it can't bring back an older name.
+ * Until the first build completes (or when disabled) {@link #isReady()} is false.
+ */
+@Slf4j
+@Component
+public class ClassSearchIndex {
+
+    private final ClassRepository classRepository;
+    private final SearchProperties properties;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Set<Integer> changedDuringBuild = ConcurrentHashMap.newKeySet();
+
+    private volatile NameSearchIndex current;
+    private volatile NameSearchIndex building;
+
+    public ClassSearchIndex(ClassRepository classRepository, SearchProperties properties,
+                            PlatformTransactionManager transactionManager) {
+        this.classRepository = classRepository;
+        this.properties = properties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public boolean isReady() {
+        return current != null;
+    }
+
+    public List<ClassResponse> prefix(String prefix, int offset, int limit) {
+        return current.prefix(prefix, offset, limit);
+    }
+
+    public List<ClassResponse> fuzzy(String query, int offset, int limit) {
+        return current.fuzzy(query, offset, limit);
+    }
+
+    /**
+     * Sets the entry of {@code id} from the class's current state, removing it when the class no longer exists.
+     * An event's own name can be outdated by the time it's applied, so single-row events re-read the class too.
+     */
+    public void refresh(Integer id, Supplier<Optional<ClassResponse>> current) {
+        if (!isActive()) {
+            return;
+        }
+        Optional<ClassResponse> row = current.get();
+        if (row.isPresent()) {
+            apply(id, index -> index.put(row.get()));
+        } else {
+            remove(id);
+        }
+    }
+
+    public void remove(Integer id) {
+        apply(id, index -> index.remove(id));
+    }
+
+    public void removeAll(Collection<Integer> ids) {
+        ids.forEach(this::remove);
+    }
+
+    /**
+     * Re-reads the given classes from the primary (bulk events carry ids only); ids no longer found are removed.
+     */
+    public void refresh(Collection<Integer> ids) {
+        if (!isActive() || ids.isEmpty()) {
+            return;
+        }
+        List<ClassResponse> rows = ReadYourWrites.onPrimary(() -> classRepository.findProjectedByIds(ids));
+        Set<Integer> found = new HashSet<>();
+        for (ClassResponse row : rows) {
+            found.add(row.getId());
+            apply(row.getId(), index -> index.put(row));
+        }
+        ids.stream().filter(id -> !found.contains(id)).forEach(this::remove);
+    }
+
+    /**
+     * Reads an imported id range from the primary into the index.
+     */
+    public void refreshRange(int firstId, int lastId) {
+        if (!isActive()) {
+            return;
+        }
+        ReadYourWrites.onPrimary(() -> readOnlyTransaction.execute(status -> {
+            try (Stream<ClassResponse> rows = classRepository.streamProjectedByIdRange(firstId, lastId)) {
+                rows.forEach(row -> apply(row.getId(), index -> index.put(row)));
+            }
+            return null;
+        }));
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.search.in-memory.rebuild-interval:PT30M}")
+    public void rebuild() {
+        if (properties.getEngine() != SearchProperties.Engine.MEMORY) {
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            NameSearchIndex next = new NameSearchIndex();
+            changedDuringBuild.clear();
+            building = next;
+
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<ClassResponse> rows = classRepository.streamAllProjected()) {
+                    rows.filter(row -> !changedDuringBuild.contains(row.getId())).forEach(next::putIfAbsent);
+                }
+            });
+
+            current = next;
+            log.info("Class search index rebuilt with {} names in {}ms", next.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("Class search index rebuild failed: {}", e.getMessage(), e);
+        } finally {
+            building = null;
+            changedDuringBuild.clear();
+        }
+    }
+
+    private boolean isActive() {
+        return current != null || building != null;
+    }
+
+    private void apply(Integer id, Consumer<NameSearchIndex> change) {
+        // building before current: a rebuild sets current before it clears building, so a change that misses
+        // building still finds the new index in current
+        NameSearchIndex next = building;
+        NameSearchIndex index = current;
+        if (next != null) {
+            changedDuringBuild.add(id);
+            change.accept(next);
+        }
+        if (index != null && index != next) {
+            change.accept(index);
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.example.demo.service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.example.demo.dto.response.ClassResponse;
+
+/**
+ * In-memory index of class names: a sorted map of lower-cased names for prefix search (the trie role, as ordered
+ * range scans) and a trigram inverted index for fuzzy search, with trigrams and similarity computed like pg_trgm
+ * so both engines match and rank alike.
+ * <p>
+ * Every indexed name gets its own ordinal, and the trigram postings hold ordinals. A rename indexes the new name
+ * under a new ordinal and retires the old one, so shared-trigram counts are always exact and a fuzzy search is
+ * one counting pass over the query's postings. Retired ordinals stay in the postings (skipped) until the index
+ * is rebuilt. Thread-safe: searches share a read lock, changes take the write lock.
+ */
+public class NameSearchIndex {
+
+    // pg_trgm's default similarity_threshold
+    public static final double SIMILARITY_THRESHOLD = 0.3;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, Integer> ordinals = new HashMap<>();
+    private final NavigableMap<String, ClassResponse> byName = new TreeMap<>();
+    private final Map<String, IntList> postings = new HashMap<>();
+    // Per ordinal: the indexed class (null once retired) and its number of distinct trigrams
+    private ClassResponse[] entries = new ClassResponse[1024];
+    private int[] trigramCounts = new int[1024];
+    private int ordinalCount;
+
+    /**
+     * Adds the class or replaces the indexed one with the same id.
+     */
+    public void put(ClassResponse response) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = ordinals.get(response.getId());
+            if (existing != null) {
+                ClassResponse previous = entries[existing];
+                byName.remove(sortKey(previous));
+                if (previous.getName().equals(response.getName())) {
+                    // Same trigrams: keep the ordinal
+                    entries[existing] = response;
+                    byName.put(sortKey(response), response);
+                    return;
+                }
+                entries[existing] = null;
+            }
+
+            int ordinal = ordinalCount++;
+            if (ordinal == entries.length) {
+                entries = Arrays.copyOf(entries, ordinal * 2);
+                trigramCounts = Arrays.copyOf(trigramCounts, ordinal * 2);
+            }
+            Set<String> trigrams = trigrams(response.getName());
+            entries[ordinal] = response;
+            trigramCounts[ordinal] = trigrams.size();
+            for (String trigram : trigrams) {
+                postings.computeIfAbsent(trigram, key -> new IntList()).add(ordinal);
+            }
+            ordinals.put(response.getId(), ordinal);
+            byName.put(sortKey(response), response);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the class unless its id is already indexed (e.g. by a change applied while the index was loading).
+     */
+    public void putIfAbsent(ClassResponse response) {
+        lock.writeLock().lock();
+        try {
+            if (!ordinals.containsKey(response.getId())) {
+                put(response);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes the new name of a class; a known class keeps counting versions, an unknown one starts at 0.
+     */
+    public void rename(int id, String name) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = ordinals.get(id);
+            long version = existing != null ? entries[existing].getVersion() + 1 : 0;
+            put(new ClassResponse(id, name, version));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = ordinals.remove(id);
+            if (existing != null) {
+                byName.remove(sortKey(entries[existing]));
+                entries[existing] = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Classes whose name starts with {@code prefix} (case-insensitive), by lower-cased name then id.
+     * Returns at most {@code limit} results after skipping {@code offset}.
+     */
+    public List<ClassResponse> prefix(String prefix, int offset, int limit) {
+        String from = prefix.toLowerCase(Locale.ROOT);
+        lock.readLock().lock();
+        try {
+            // Walk the range with an iterator; a stream over a sub-map view would count the whole range first
+            List<ClassResponse> page = new ArrayList<>(Math.min(limit, 100));
+            Iterator<ClassResponse> matches = byName.subMap(from, true, from + Character.MAX_VALUE, false).values().iterator();
+            for (int skipped = 0; skipped < offset && matches.hasNext(); skipped++) {
+                matches.next();
+            }
+            while (page.size() < limit && matches.hasNext()) {
+                page.add(matches.next());
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Classes whose name has a trigram similarity of at least {@link #SIMILARITY_THRESHOLD} to {@code query},
+     * most similar first (then by id). Returns at most {@code limit} results after skipping {@code offset}.
+     */
+    public List<ClassResponse> fuzzy(String query, int offset, int limit) {
+        Set<String> queryTrigrams = trigrams(query);
+        if (queryTrigrams.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            // Shared trigrams per ordinal, counted over the query's postings; touched remembers which are non-zero
+            short[] shared = new short[ordinalCount];
+            IntList touched = new IntList();
+            for (String trigram : queryTrigrams) {
+                IntList list = postings.get(trigram);
+                for (int i = 0; list != null && i < list.size(); i++) {
+                    int ordinal = list.get(i);
+                    if (shared[ordinal]++ == 0) {
+                        touched.add(ordinal);
+                    }
+                }
+            }
+
+            // Keep the best offset + limit matches: a min-heap whose head is the weakest kept match
+            Comparator<Scored> weakestFirst = Comparator.comparingDouble(Scored::score)
+                    .thenComparing(scored -> scored.response().getId(), Comparator.reverseOrder());
+            int keep = offset + limit;
+            PriorityQueue<Scored> best = new PriorityQueue<>(keep + 1, weakestFirst);
+            for (int i = 0; i < touched.size(); i++) {
+                int ordinal = touched.get(i);
+                ClassResponse response = entries[ordinal];
+                if (response == null) {
+                    continue;
+                }
+                int common = shared[ordinal];
+                double score = (double) common / (queryTrigrams.size() + trigramCounts[ordinal] - common);
+                if (score < SIMILARITY_THRESHOLD) {
+                    continue;
+                }
+                if (best.size() == keep) {
+                    Scored weakest = best.peek();
+                    if (score < weakest.score()
+                            || (score == weakest.score() && response.getId() > weakest.response().getId())) {
+                        continue;
+                    }
+                    best.poll();
+                }
+                best.add(new Scored(response, score));
+            }
+
+            List<Scored> ranked = new ArrayList<>(best);
+            ranked.sort(weakestFirst.reversed());
+            return ranked.stream()
+                    .skip(offset)
+                    .map(Scored::response)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * pg_trgm's trigrams: the lower-cased alphanumeric words of the text, each padded with two spaces in front
+     * and one behind, cut into all 3-character substrings.
+     */
+    static Set<String> trigrams(String text) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        StringBuilder word = new StringBuilder();
+        String lower = text.toLowerCase(Locale.ROOT);
+        for (int i = 0; i <= lower.length(); i++) {
+            char c = i < lower.length() ? lower.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                word.append(c);
+            } else if (!word.isEmpty()) {
+                String padded = "  " + word + " ";
+                for (int j = 0; j + 3 <= padded.length(); j++) {
+                    trigrams.add(padded.substring(j, j + 3));
+                }
+                word.setLength(0);
+            }
+        }
+        return trigrams;
+    }
+
+    static double similarity(Set<String> a, Set<String> b) {
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0;
+        }
+        int common = 0;
+        for (String trigram : a) {
+            if (b.contains(trigram)) {
+                common++;
+            }
+        }
+        return (double) common / (a.size() + b.size() - common);
+    }
+
+    // Lower-cased name, then the zero-padded id, so equal names keep id order
+    private static String sortKey(ClassResponse response) {
+        String id = Integer.toString(response.getId());
+        return response.getName().toLowerCase(Locale.ROOT) + '\0' + "0".repeat(Math.max(0, 10 - id.length())) + id;
+    }
+
+    private record Scored(ClassResponse response, double score) {
+    }
+
+    private static class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int get(int index) {
+            return values[index];
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
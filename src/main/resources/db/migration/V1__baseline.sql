@@ -0,0 +1,14 @@
+-- Tables as previously created by Hibernate (ddl-auto=update). On existing databases only the classes version
+-- column can be missing (tables created before the entity had it); everything else is a no-op
+create table if not exists classes (
+    id integer generated by default as identity primary key,
+    name varchar(255),
+    version bigint default 0
+);
+
+alter table classes add column if not exists version bigint default 0;
+
+create table if not exists students (
+    id integer generated by default as identity primary key,
+    name varchar(255)
+);
@@ -0,0 +1,7 @@
+-- Ids come from sequences handed out in blocks of 50 (Hibernate pooled optimizer), so inserts can be batched.
+-- Each sequence's first value is the top of the first block, which starts right after the current max id.
+create sequence if not exists classes_seq increment by 50;
+select setval('classes_seq', coalesce((select max(id) from classes), 0) + 50, false);
+
+create sequence if not exists students_seq increment by 50;
+select setval('students_seq', coalesce((select max(id) from students), 0) + 50, false);
@@ -0,0 +1,4 @@
+-- Name lookups (findFirstByNameOrderByIdAsc, GET /api/v1/classes/by-name/{name}) probe these instead of scanning.
+-- Not unique: existing rows already share names; a lookup returns the lowest id, which the id column serves in order.
+create index if not exists classes_name_idx on classes (name, id);
+create index if not exists students_name_idx on students (name, id);
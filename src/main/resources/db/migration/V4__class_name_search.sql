@@ -0,0 +1,5 @@
+-- Class name search: a trigram GIN index for fuzzy matches (name % ?), and a case-folded, C-collation
+-- btree for prefix type-ahead, so lower(name) like 'abc%' is read in index order and stops at the page size.
+create extension if not exists pg_trgm;
+create index if not exists classes_name_trgm_idx on classes using gin (name gin_trgm_ops);
+create index if not exists classes_name_prefix_idx on classes ((lower(name) collate "C"), id);
@@ -0,0 +1,11 @@
+-- Student <-> class enrolments. The primary key (class_id, student_id) serves keyset-paged rosters
+-- (where class_id = ? and student_id > ? order by student_id), so a page costs the same for 10 or 50,000 students;
+-- the reverse index serves a student's classes. Deleting a class or student drops its enrolments.
+create table if not exists enrollments (
+    class_id integer not null references classes (id) on delete cascade,
+    student_id integer not null references students (id) on delete cascade,
+    enrolled_at timestamp not null default now(),
+    primary key (class_id, student_id)
+);
+
+create index if not exists enrollments_student_idx on enrollments (student_id, class_id);
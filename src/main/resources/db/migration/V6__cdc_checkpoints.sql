@@ -0,0 +1,8 @@
+-- Change data capture (app.cdc.enabled): per replication slot, the end of the last transaction whose class changes
+-- were published and confirmed by the broker. Capture resumes after it. The publication and the slot are created by
+-- the application when capture is enabled, since a slot nobody reads retains WAL indefinitely.
+create table if not exists cdc_checkpoints (
+    slot_name varchar(63) primary key,
+    lsn pg_lsn not null,
+    updated_at timestamp not null default now()
+);
@@ -3,7 +3,8 @@ package com.example.demo;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// Requests and listeners that run more SQL statements than their budget fail instead of logging a warning
+@SpringBootTest(properties = "app.datasource.statistics.fail-on-exceeded=true")
 class DemoApplicationTests {
 
 	@Test
@@ -0,0 +1,74 @@
+package com.example.demo.configuration.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+class SqlStatisticsDataSourceTest {
+
+	@Test
+	void countsStatementsRowsReadAndRowsUpdated() throws SQLException {
+		DataSource dataSource = new SqlStatisticsDataSource(stubDataSource());
+
+		SqlStatistics statistics = SqlStatistics.start();
+		try (Connection connection = dataSource.getConnection()) {
+			PreparedStatement statement = connection.prepareStatement("select");
+			ResultSet rows = statement.executeQuery();
+			while (rows.next()) {
+				// two rows
+			}
+			statement.executeUpdate();
+			statement.executeBatch();
+		} finally {
+			statistics.stop();
+		}
+
+		// The batch counts once; its "success, count unknown" marker adds no rows
+		assertThat(statistics.statements()).isEqualTo(3);
+		assertThat(statistics.rows()).isEqualTo(2 + 3 + 2);
+	}
+
+	@Test
+	void nestedScopesAddUpAndNothingCountsOutsideOne() throws SQLException {
+		DataSource dataSource = new SqlStatisticsDataSource(stubDataSource());
+		try (Connection connection = dataSource.getConnection()) {
+			connection.prepareStatement("update").executeUpdate();
+
+			SqlStatistics outer = SqlStatistics.start();
+			connection.prepareStatement("update").executeUpdate();
+			SqlStatistics inner = SqlStatistics.start();
+			connection.prepareStatement("update").executeUpdate();
+			inner.stop();
+			outer.stop();
+
+			assertThat(inner.statements()).isEqualTo(1);
+			assertThat(outer.statements()).isEqualTo(2);
+			assertThat(outer.rows()).isEqualTo(6);
+		}
+	}
+
+	static DataSource stubDataSource() throws SQLException {
+		ResultSet resultSet = mock(ResultSet.class);
+		when(resultSet.next()).thenReturn(true, true, false);
+		PreparedStatement statement = mock(PreparedStatement.class);
+		when(statement.executeQuery()).thenReturn(resultSet);
+		when(statement.executeUpdate()).thenReturn(3);
+		when(statement.executeBatch()).thenReturn(new int[] {1, 1, Statement.SUCCESS_NO_INFO});
+		Connection connection = mock(Connection.class);
+		when(connection.prepareStatement(anyString())).thenReturn(statement);
+		DataSource dataSource = mock(DataSource.class);
+		when(dataSource.getConnection()).thenReturn(connection);
+		return dataSource;
+	}
+}
@@ -0,0 +1,134 @@
+package com.example.demo.configuration.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.example.demo.configuration.properties.SqlStatisticsProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+class SqlStatisticsRecorderTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final SqlStatisticsProperties properties = new SqlStatisticsProperties();
+	private final SqlStatisticsRecorder recorder = new SqlStatisticsRecorder(meterRegistry, properties);
+
+	@Test
+	void requestWithinBudgetIsRecordedUnderItsEndpoint() throws Exception {
+		properties.setRequestBudget(2);
+		properties.setFailOnExceeded(true);
+		DataSource dataSource = new SqlStatisticsDataSource(SqlStatisticsDataSourceTest.stubDataSource());
+
+		new SqlStatisticsFilter(recorder).doFilter(request(null), new MockHttpServletResponse(),
+				new MockFilterChain(updates(dataSource, 2)));
+
+		assertThat(meterRegistry.get("sql.statements").tag("endpoint", "GET /api/v1/classes/{id}").summary().totalAmount())
+				.isEqualTo(2);
+		assertThat(meterRegistry.get("sql.rows").tag("scope", "http").summary().totalAmount()).isEqualTo(6);
+		assertThat(meterRegistry.find("sql.budget.exceeded").counter()).isNull();
+	}
+
+	@Test
+	void requestOverBudgetFailsWhenConfiguredTo() throws Exception {
+		properties.setRequestBudget(2);
+		properties.setFailOnExceeded(true);
+		DataSource dataSource = new SqlStatisticsDataSource(SqlStatisticsDataSourceTest.stubDataSource());
+		SqlStatisticsFilter filter = new SqlStatisticsFilter(recorder);
+
+		assertThatThrownBy(() -> filter.doFilter(request(null), new MockHttpServletResponse(),
+				new MockFilterChain(updates(dataSource, 3))))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("GET /api/v1/classes/{id} ran 3 statements");
+		assertThat(meterRegistry.get("sql.budget.exceeded").counter().count()).isEqualTo(1);
+	}
+
+	@Test
+	void handlerBudgetOverridesTheRequestBudgetAndOtherwiseOnlyWarns() throws Exception {
+		properties.setRequestBudget(2);
+		DataSource dataSource = new SqlStatisticsDataSource(SqlStatisticsDataSourceTest.stubDataSource());
+		SqlStatisticsFilter filter = new SqlStatisticsFilter(recorder);
+		HandlerMethod handler = new HandlerMethod(new Handlers(), Handlers.class.getMethod("benchmark"));
+
+		filter.doFilter(request(handler), new MockHttpServletResponse(), new MockFilterChain(updates(dataSource, 3)));
+		assertThat(meterRegistry.find("sql.budget.exceeded").counter()).isNull();
+
+		filter.doFilter(request(null), new MockHttpServletResponse(), new MockFilterChain(updates(dataSource, 3)));
+		assertThat(meterRegistry.get("sql.budget.exceeded").counter().count()).isEqualTo(1);
+	}
+
+	@Test
+	void listenerInvocationIsRecordedUnderItsQueueAndChecked() throws Throwable {
+		properties.setListenerBudget(1);
+		properties.setFailOnExceeded(true);
+		DataSource dataSource = new SqlStatisticsDataSource(SqlStatisticsDataSourceTest.stubDataSource());
+		MessageProperties messageProperties = new MessageProperties();
+		messageProperties.setConsumerQueue("class.queue");
+		MethodInvocation invocation = mock(MethodInvocation.class);
+		when(invocation.getArguments()).thenReturn(new Object[] {null, new Message(new byte[0], messageProperties)});
+		when(invocation.proceed()).then(call -> {
+			runUpdates(dataSource, 2);
+			return null;
+		});
+
+		assertThatThrownBy(() -> new SqlStatisticsListenerAdvice(recorder).invoke(invocation))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("class.queue ran 2 statements");
+		assertThat(meterRegistry.get("sql.statements").tags("scope", "listener", "endpoint", "class.queue").summary()
+				.totalAmount()).isEqualTo(2);
+	}
+
+	private static MockHttpServletRequest request(HandlerMethod handler) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/classes/1");
+		request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/classes/{id}");
+		if (handler != null) {
+			request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, handler);
+		}
+		return request;
+	}
+
+	private static HttpServlet updates(DataSource dataSource, int count) {
+		return new HttpServlet() {
+			@Override
+			protected void service(HttpServletRequest request, HttpServletResponse response) {
+				runUpdates(dataSource, count);
+			}
+		};
+	}
+
+	private static void runUpdates(DataSource dataSource, int count) {
+		try (Connection connection = dataSource.getConnection()) {
+			for (int i = 0; i < count; i++) {
+				connection.prepareStatement("update").executeUpdate();
+			}
+		} catch (SQLException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	static class Handlers {
+
+		@QueryBudget(5)
+		public void benchmark() {
+		}
+	}
+}
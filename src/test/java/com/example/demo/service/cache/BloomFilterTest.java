@@ -0,0 +1,34 @@
+package com.example.demo.service.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+	@Test
+	void insertedKeysAreAlwaysReported() {
+		BloomFilter filter = BloomFilter.create(10_000, 0.01);
+		for (int id = 1; id <= 10_000; id++) {
+			filter.put(id);
+		}
+		for (int id = 1; id <= 10_000; id++) {
+			assertThat(filter.mightContain(id)).isTrue();
+		}
+	}
+
+	@Test
+	void falsePositiveRateStaysNearTarget() {
+		BloomFilter filter = BloomFilter.create(10_000, 0.01);
+		for (int id = 1; id <= 10_000; id++) {
+			filter.put(id);
+		}
+		int falsePositives = 0;
+		for (int id = 1_000_001; id <= 1_100_000; id++) {
+			if (filter.mightContain(id)) {
+				falsePositives++;
+			}
+		}
+		assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+	}
+}
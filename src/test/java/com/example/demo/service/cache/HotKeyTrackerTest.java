@@ -0,0 +1,57 @@
+package com.example.demo.service.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class HotKeyTrackerTest {
+
+	@Test
+	void heavyHittersSurviveALongTailOfColdKeys() {
+		HotKeyTracker tracker = new HotKeyTracker(20);
+		for (int i = 0; i < 10_000; i++) {
+			tracker.record("class:" + i);
+			if (i % 4 == 0) {
+				tracker.record("class:hot-a");
+			}
+			if (i % 10 == 0) {
+				tracker.record("class:hot-b");
+			}
+		}
+
+		List<HotKeyTracker.HotKey> top = tracker.top(2);
+		assertThat(top).extracting(HotKeyTracker.HotKey::key).containsExactly("class:hot-a", "class:hot-b");
+		assertThat(top.get(0).count()).isGreaterThanOrEqualTo(2_500);
+		assertThat(top.get(0).count() - top.get(0).error()).isLessThanOrEqualTo(2_500);
+		assertThat(tracker.total()).isEqualTo(13_500);
+	}
+
+	@Test
+	void aNewKeyReplacesTheLeastCountedOne() {
+		HotKeyTracker tracker = new HotKeyTracker(3);
+		for (int i = 0; i < 3; i++) {
+			tracker.record("class:a");
+		}
+		tracker.record("class:b");
+		tracker.record("class:b");
+		tracker.record("class:c");
+		tracker.record("class:d");
+
+		assertThat(tracker.top(3)).containsExactlyInAnyOrder(
+				new HotKeyTracker.HotKey("class:a", 3, 0),
+				new HotKeyTracker.HotKey("class:b", 2, 0),
+				new HotKeyTracker.HotKey("class:d", 2, 1));
+	}
+
+	@Test
+	void resetForgetsEverything() {
+		HotKeyTracker tracker = new HotKeyTracker(4);
+		tracker.record("class:1");
+		tracker.reset();
+
+		assertThat(tracker.top(10)).isEmpty();
+		assertThat(tracker.total()).isZero();
+	}
+}
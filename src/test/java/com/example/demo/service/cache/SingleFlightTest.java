@@ -0,0 +1,69 @@
+package com.example.demo.service.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+	private final SingleFlight<Integer, String> singleFlight = new SingleFlight<>();
+
+	@Test
+	void concurrentCallersShareOneLoad() throws Exception {
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch arrived = new CountDownLatch(8);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<String>> results = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				results.add(executor.submit(() -> {
+					arrived.countDown();
+					return singleFlight.execute(1, () -> {
+						loads.incrementAndGet();
+						await(release);
+						return "class-1";
+					});
+				}));
+			}
+			assertThat(arrived.await(5, TimeUnit.SECONDS)).isTrue();
+			Thread.sleep(100);
+			release.countDown();
+
+			for (Future<String> result : results) {
+				assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("class-1");
+			}
+			assertThat(loads.get()).isEqualTo(1);
+			assertThat(singleFlight.inFlightCount()).isZero();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void loaderExceptionIsRethrownAndNotRemembered() {
+		assertThatThrownBy(() -> singleFlight.execute(2, () -> {
+			throw new RuntimeException("Class not found with id: 2");
+		})).hasMessageContaining("not found");
+
+		assertThat(singleFlight.execute(2, () -> "class-2")).isEqualTo("class-2");
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,163 @@
+package com.example.demo.service.messaging.cdc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.dto.message.ClassMessage;
+
+class PgOutputDecoderTest {
+
+	@Test
+	void decodesTransactionOfClassChanges() throws IOException {
+		PgOutputDecoder decoder = new PgOutputDecoder();
+
+		PgOutputDecoder.Message begin = decoder.decode(message(out -> {
+			out.writeByte('B');
+			out.writeLong(0x16B3748L);
+			out.writeLong(0);
+			out.writeInt(735);
+		}));
+		assertThat(begin.kind()).isEqualTo(PgOutputDecoder.Kind.BEGIN);
+
+		PgOutputDecoder.Message relation = decoder.decode(relation(16385, "classes", "id", "name", "version"));
+		assertThat(relation.kind()).isEqualTo(PgOutputDecoder.Kind.RELATION);
+		assertThat(relation.table()).isEqualTo("public.classes");
+
+		PgOutputDecoder.Message insert = decoder.decode(message(out -> {
+			out.writeByte('I');
+			out.writeInt(16385);
+			out.writeByte('N');
+			tuple(out, "7", "Chemistry", "0");
+		}));
+		assertThat(insert.kind()).isEqualTo(PgOutputDecoder.Kind.INSERT);
+		assertThat(insert.table()).isEqualTo("classes");
+		assertThat(insert.columns()).containsEntry("id", "7").containsEntry("name", "Chemistry").containsEntry("version", "0");
+
+		PgOutputDecoder.Message update = decoder.decode(message(out -> {
+			out.writeByte('U');
+			out.writeInt(16385);
+			out.writeByte('N');
+			tuple(out, "7", null, "1");
+		}));
+		assertThat(update.kind()).isEqualTo(PgOutputDecoder.Kind.UPDATE);
+		assertThat(update.columns()).containsEntry("id", "7").containsEntry("name", null);
+
+		// Default replica identity: a delete carries the key only
+		PgOutputDecoder.Message delete = decoder.decode(message(out -> {
+			out.writeByte('D');
+			out.writeInt(16385);
+			out.writeByte('K');
+			tuple(out, "7", null, null);
+		}));
+		assertThat(delete.kind()).isEqualTo(PgOutputDecoder.Kind.DELETE);
+		assertThat(delete.columns()).containsEntry("id", "7");
+
+		PgOutputDecoder.Message commit = decoder.decode(message(out -> {
+			out.writeByte('C');
+			out.writeByte(0);
+			out.writeLong(0x16B3748L);
+			out.writeLong(0x16B3778L);
+			out.writeLong(0);
+		}));
+		assertThat(commit.kind()).isEqualTo(PgOutputDecoder.Kind.COMMIT);
+		assertThat(commit.lsn()).isEqualTo(0x16B3778L);
+	}
+
+	@Test
+	void changeForUnknownRelationFails() {
+		PgOutputDecoder decoder = new PgOutputDecoder();
+
+		assertThatThrownBy(() -> decoder.decode(message(out -> {
+			out.writeByte('I');
+			out.writeInt(99);
+			out.writeByte('N');
+			tuple(out, "1");
+		}))).isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void runsOfChangesBecomeSingleOrBulkEvents() throws IOException {
+		PgOutputDecoder decoder = new PgOutputDecoder();
+		decoder.decode(relation(1, "classes", "id", "name", "version"));
+
+		List<PgOutputDecoder.Message> changes = new ArrayList<>();
+		for (int id = 1; id <= 3; id++) {
+			String value = Integer.toString(id);
+			changes.add(decoder.decode(message(out -> {
+				out.writeByte('I');
+				out.writeInt(1);
+				out.writeByte('N');
+				tuple(out, value, "Class " + value, "0");
+			})));
+		}
+		changes.add(decoder.decode(message(out -> {
+			out.writeByte('U');
+			out.writeInt(1);
+			out.writeByte('N');
+			tuple(out, "2", "Renamed", "1");
+		})));
+
+		List<ClassMessage> messages = ClassChangeCapture.toMessages(changes);
+
+		assertThat(messages).extracting(ClassMessage::getAction).containsExactly("BULK_CREATE", "UPDATE");
+		assertThat(ClassMessage.bulkIds(messages.get(0).getPayload())).containsExactly(1, 2, 3);
+		assertThat(messages.get(1).getClassId()).isEqualTo(2);
+		assertThat(messages.get(1).getClassName()).isEqualTo("Renamed");
+	}
+
+	private interface Writer {
+		void write(DataOutputStream out) throws IOException;
+	}
+
+	private static ByteBuffer message(Writer writer) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		writer.write(new DataOutputStream(bytes));
+		return ByteBuffer.wrap(bytes.toByteArray());
+	}
+
+	private static ByteBuffer relation(int id, String table, String... columns) throws IOException {
+		return message(out -> {
+			out.writeByte('R');
+			out.writeInt(id);
+			string(out, "public");
+			string(out, table);
+			out.writeByte('d');
+			out.writeShort(columns.length);
+			for (int i = 0; i < columns.length; i++) {
+				out.writeByte(i == 0 ? 1 : 0);
+				string(out, columns[i]);
+				out.writeInt(23);
+				out.writeInt(-1);
+			}
+		});
+	}
+
+	private static void tuple(DataOutputStream out, String... values) throws IOException {
+		out.writeShort(values.length);
+		for (String value : values) {
+			if (value == null) {
+				out.writeByte('n');
+			} else {
+				byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+				out.writeByte('t');
+				out.writeInt(bytes.length);
+				out.write(bytes);
+			}
+		}
+	}
+
+	private static void string(DataOutputStream out, String value) throws IOException {
+		out.write(value.getBytes(StandardCharsets.UTF_8));
+		out.writeByte(0);
+	}
+}
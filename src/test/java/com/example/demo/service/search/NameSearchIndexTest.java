@@ -0,0 +1,51 @@
+package com.example.demo.service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.dto.response.ClassResponse;
+
+class NameSearchIndexTest {
+
+	@Test
+	void prefixSearchIsCaseInsensitiveAndFollowsRenamesAndDeletes() {
+		NameSearchIndex index = new NameSearchIndex();
+		index.put(new ClassResponse(1, "Mathematics", 0));
+		index.put(new ClassResponse(2, "math club", 0));
+		index.put(new ClassResponse(3, "Physics", 0));
+
+		assertThat(ids(index.prefix("MATH", 0, 10))).containsExactly(2, 1);
+		assertThat(ids(index.prefix("math", 1, 10))).containsExactly(1);
+
+		index.rename(2, "Chess club");
+		index.remove(1);
+		assertThat(index.prefix("math", 0, 10)).isEmpty();
+		assertThat(index.prefix("chess", 0, 10)).singleElement()
+				.satisfies(response -> assertThat(response.getVersion()).isEqualTo(1));
+	}
+
+	@Test
+	void fuzzySearchScoresLikePgTrgm() {
+		// SELECT similarity('word', 'two words') = 0.36363637
+		assertThat(NameSearchIndex.similarity(NameSearchIndex.trigrams("word"), NameSearchIndex.trigrams("two words")))
+				.isCloseTo(4.0 / 11, offset(1e-9));
+
+		NameSearchIndex index = new NameSearchIndex();
+		index.put(new ClassResponse(1, "Mathematics", 0));
+		index.put(new ClassResponse(2, "Physics", 0));
+		index.put(new ClassResponse(3, "Mathematics II", 0));
+
+		assertThat(ids(index.fuzzy("mathematcs", 0, 10))).containsExactly(1, 3);
+
+		index.rename(1, "Biology");
+		assertThat(ids(index.fuzzy("mathematcs", 0, 10))).containsExactly(3);
+	}
+
+	private static List<Integer> ids(List<ClassResponse> responses) {
+		return responses.stream().map(ClassResponse::getId).toList();
+	}
+}